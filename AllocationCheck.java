@@ -0,0 +1,140 @@
+/*
+ * Authored by Bennett Liu on October 17th, 2026
+ *
+ * The AllocationCheck class contains a main function that checks that the serial paths of Network and NetworkTrainer
+ * allocate nothing once warmed up. It counts the bytes the current thread allocates, as reported by
+ * ThreadMXBean.getThreadAllocatedBytes, across many calls of eval, evalBatch and step, and across adaptive training
+ * epochs, and throws if any of them grow. Epochs are counted by training twice for different numbers of epochs, so
+ * the messages train prints when it stops cancel out. The parallel paths, a parallel layer and a training set split
+ * into several error pieces, hand their work to the common fork-join pool through streams, which allocate; their
+ * bytes per call on the current thread are printed but not checked.
+ */
+
+import java.lang.management.*;
+import java.util.*;
+
+public class AllocationCheck
+{
+   static final int WARMUP = 20000;          // The number of calls made before counting, so the JIT has compiled them
+   static final int CALLS = 100000;          // The number of calls counted in each round
+   static final int ROUNDS = 5;              // The number of rounds of calls, of which the least allocation is kept
+   static final int EPOCHS = 2000;           // The number of extra epochs counted
+   static final int SERIAL_CASES = 16;       // Training cases in the serial set, which calcError evaluates as one piece
+   static final int PARALLEL_CASES = 256;    // Training cases in the set calcError splits into pieces
+   static final int WIDE = 256;              // The nodes in each layer of the network whose layers run in parallel
+
+   static com.sun.management.ThreadMXBean threads =
+      (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+   public static void main(String[] args)
+   {
+      Random random = new Random(0);
+      double inputs[][] = randomCases(random, PARALLEL_CASES, 25);
+      double outputs[][] = randomCases(random, PARALLEL_CASES, 5);
+      double serialInputs[][] = Arrays.copyOf(inputs, SERIAL_CASES);
+      double serialOutputs[][] = Arrays.copyOf(outputs, SERIAL_CASES);
+      Network network = new Network(25, new int[]{40, 20}, 5, -1.0, 1.0, 1);
+      double output[] = new double[network.outputs];
+      double results[][] = new double[SERIAL_CASES][network.outputs];
+
+      check("eval", perCall(() -> network.eval(inputs[0], output)));
+      check("evalBatch", perCall(() -> network.evalBatch(serialInputs, results)));
+      check("step", perCall(() -> network.step(inputs[0], outputs[0], 0.1)));
+      check("adaptive epoch", perEpoch(network, serialInputs, serialOutputs, null));
+      check("minibatch epoch", perEpoch(network, serialInputs, serialOutputs,    // One case, so one worker
+                                        trainer -> trainer.setMinibatch(1)));
+      check("adam epoch", perEpoch(network, serialInputs, serialOutputs,
+                                   trainer -> trainer.setOptimizer(Optimizer.forName("adam"))));
+
+      System.out.println(String.format("Epoch with %d cases in error pieces: %.1f bytes on this thread, not checked",
+                                       PARALLEL_CASES, perEpoch(network, inputs, outputs, null)));
+      Network wide = new Network(WIDE, new int[]{WIDE}, WIDE, -0.1, 0.1, 1);
+      double wideInput[] = randomCases(random, 1, WIDE)[0];
+      double wideOutput[] = new double[WIDE];
+      wide.setParallel(true);
+      System.out.println(String.format("Parallel eval: %.1f bytes on this thread, not checked",
+                                       perCall(() -> wide.eval(wideInput, wideOutput))));
+
+      return;
+   }  // public static void main(String[] args)
+
+   /*
+    * randomCases returns a given number of rows of a given number of random values between 0 and 1.
+    */
+   private static double[][] randomCases(Random random, int rows, int columns)
+   {
+      double cases[][] = new double[rows][columns];
+
+      for (int i = 0; i < rows; i++)
+         for (int j = 0; j < columns; j++)
+            cases[i][j] = random.nextDouble();
+
+      return cases;
+   }  // private static double[][] randomCases(Random random, int rows, int columns)
+
+   /*
+    * perCall returns the bytes the current thread allocates per run of a given task, after WARMUP runs. The runs 
+    * are counted in ROUNDS rounds of CALLS and the least is kept, so that a one-off allocation by the JIT or class 
+    * loading while one round runs is not mistaken for the task's own.
+    */
+   private static double perCall(Runnable task)
+   {
+      long threadId = Thread.currentThread().getId();
+      long least = Long.MAX_VALUE;
+
+      for (int k = 0; k < WARMUP; k++)
+         task.run();
+
+      for (int round = 0; round < ROUNDS; round++)
+      {
+         long start = threads.getThreadAllocatedBytes(threadId);
+         for (int k = 0; k < CALLS; k++)
+            task.run();
+         least = Math.min(least, threads.getThreadAllocatedBytes(threadId) - start);
+      }
+
+      return (double) least / CALLS;
+   }  // private static double perCall(Runnable task)
+
+   /*
+    * perEpoch returns the bytes the current thread allocates per adaptive training epoch of a given network on a
+    * given training set, with a trainer set up by a given setup, which may be null. The bytes of a short training
+    * are taken from those of a training EPOCHS longer, so that creating the trainer and the messages train prints
+    * cancel out. Training stops only at its number of epochs, and its messages go nowhere.
+    */
+   private static double perEpoch(Network network, double inputs[][], double outputs[][],
+                                  java.util.function.Consumer<NetworkTrainer> setup)
+   {
+      long threadId = Thread.currentThread().getId();
+      long bytes[] = new long[2];
+      java.io.PrintStream console = System.out;
+
+      System.setOut(new java.io.PrintStream(java.io.OutputStream.nullOutputStream()));
+      for (int run = 0; run < 3; run++)                           // The first run warms up and is not counted
+      {
+         NetworkTrainer trainer = new NetworkTrainer(network, inputs, outputs);
+         if (setup != null)
+            setup.accept(trainer);
+
+         long start = threads.getThreadAllocatedBytes(threadId);
+         trainer.train(0.1, 1.1, (run == 2) ? 2 * EPOCHS : EPOCHS, 0.0, 0.0, 0, 0);
+         long end = threads.getThreadAllocatedBytes(threadId);
+         if (run > 0)
+            bytes[run - 1] = end - start;
+      }
+      System.setOut(console);
+
+      return (double) (bytes[1] - bytes[0]) / EPOCHS;
+   }  // private static double perEpoch(Network network, double inputs[][], double outputs[][], Consumer<NetworkTrainer> setup)
+
+   /*
+    * check prints the bytes allocated per call of a named path and throws if it allocated any.
+    */
+   private static void check(String name, double bytes)
+   {
+      System.out.println(String.format("%-16s %.4f bytes", name, bytes));
+      if (bytes > 0.0)
+         throw new IllegalStateException(String.format("%s allocated %.4f bytes per call", name, bytes));
+      return;
+   }  // private static void check(String name, double bytes)
+}  // public class AllocationCheck
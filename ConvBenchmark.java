@@ -0,0 +1,103 @@
+/*
+ * Authored by Bennett Liu on October 17th, 2026
+ *
+ * The ConvBenchmark class contains a main function that compares the fully connected network Fingers trains on the
+ * 50 x 50 pel SmallGrayBMP images with a convolutional network for the same images. It prints each network's weights,
+ * multiply-adds per image and measured time per image, and times one training step of each. The images are read
+ * from SmallGrayBMP when it is present and made up at random otherwise, which changes only the times.
+ */
+
+import java.io.*;
+import java.util.*;
+
+public class ConvBenchmark
+{
+   static final int SIDE = 50;               // The number of pels in each row and column of the images
+   static final int KERNEL = 5;              // The size of the convolution filters
+   static final int FILTERS = 8;             // The number of convolution filters
+   static final int POOL = 2;                // The size of the pooling blocks
+   static final int HIDDEN = 32;             // The number of fully connected hidden nodes after pooling
+   static final int REPEATS = 5;             // The number of times every image is evaluated for timing
+
+   public static void main(String[] args)
+   {
+      double images[][] = loadImages();
+
+      Network dense = new Network(SIDE * SIDE, new int[]{5000, 5000}, 1, -1, 1);     // As in Fingers
+
+      int convSide = SIDE - KERNEL + 1;
+      int poolSide = convSide / POOL;
+      Network conv = new Network(SIDE * SIDE, new int[]{FILTERS * convSide * convSide, FILTERS * poolSide * poolSide,
+                                                        HIDDEN}, 1, -0.1, 0.1);
+      conv.setConvolution(0, 1, SIDE, SIDE, KERNEL, -0.1, 0.1);
+      conv.setActivation(1, Activation.RELU);
+      conv.setPooling(1, FILTERS, convSide, convSide, POOL);
+
+      report("Fully connected", dense, images);
+      report("Convolutional", conv, images);
+
+      return;
+   }  // public static void main(String[] args)
+
+   /*
+    * loadImages returns the SmallGrayBMP images as read by PelGetter, or 20 images of random pels in getPels' range
+    * if the folder is missing.
+    */
+   private static double[][] loadImages()
+   {
+      PelGetter pelGetter = new PelGetter();
+      List<double[]> images = new ArrayList<double[]>();
+
+      File folder = new File("SmallGrayBMP");
+      File files[] = folder.listFiles((dir, name) -> name.endsWith(".bmp"));
+      if (files != null)
+      {
+         for (File file : files)
+            images.add(pelGetter.getPels(file.getPath()));
+      }
+
+      if (images.isEmpty())
+      {
+         System.out.println("SmallGrayBMP not found, using random images");
+         Random random = new Random(0);
+         for (int i = 0; i < 20; i++)
+         {
+            double image[] = new double[SIDE * SIDE];
+            for (int k = 0; k < image.length; k++)
+               image[k] = 1.0 + random.nextDouble();
+            images.add(image);
+         }
+      }
+
+      return images.toArray(new double[0][]);
+   }  // private static double[][] loadImages()
+
+   /*
+    * report prints a given network's weights and multiply-adds per image, then times evaluating every image
+    * REPEATS times and training on each image once.
+    */
+   private static void report(String name, Network network, double images[][])
+   {
+      long weights = 0;
+      for (int layer = 0; layer < network.layers - 1; layer++)
+         weights += network.weights[layer].length;
+
+      double outputs[][] = new double[images.length][network.outputs];
+      network.evalBatch(images, outputs);                              // Warm up
+
+      long start = System.nanoTime();
+      for (int repeat = 0; repeat < REPEATS; repeat++)
+         network.evalBatch(images, outputs);
+      double evalTime = (System.nanoTime() - start) / 1e6 / (REPEATS * images.length);
+
+      start = System.nanoTime();
+      for (int i = 0; i < images.length; i++)
+         network.step(images[i], new double[]{0.5}, 0.01);
+      double stepTime = (System.nanoTime() - start) / 1e6 / images.length;
+
+      System.out.println(String.format("%s: %d weights, %d multiply-adds per image, %.3f ms per image evaluated, " +
+                                       "%.3f ms per training step", name, weights, network.multiplyAdds(),
+                                       evalTime, stepTime));
+      return;
+   }  // private static void report(String name, Network network, double images[][])
+}  // public class ConvBenchmark
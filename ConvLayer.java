@@ -0,0 +1,248 @@
+/*
+ * Authored by Bennett Liu on October 17th, 2026
+ *
+ * ConvLayer.java describes a convolutional weight layer. Its source nodes are an image of some channels, each a grid
+ * of pels stored row by row, and its destination nodes are an image of filter channels. Each destination pel is the
+ * dot product of one filter, a square kernel of weights for every source channel, with the source pels under it,
+ * with the kernel kept wholly inside the source image. Every pel of a filter channel shares that filter's weights,
+ * so the layer has far fewer weights than a fully connected one and does far less work.
+ *
+ * Contains the following methods:
+ *
+ * Method                  |  Description
+ * ------------------------|---------------------
+ * ConvLayer               |  A constructor for creating a ConvLayer, given the source image's shape, kernel and filters.
+ * size                    |  Returns the number of weights in all the filters.
+ * dot                     |  Calculates the dot product of one destination pel's filter and the source pels under it.
+ * backprop                |  Accumulates omega from one destination pel's filter and applies steepest descent to it.
+ * update                  |  Applies steepest descent to one destination pel's filter.
+ * gradient                |  Accumulates omega, if wanted, and the gradient of one destination pel's filter.
+ * connections             |  Returns the number of multiply-adds evaluating the layer takes.
+ * sharesWeights           |  Returns true, as every pel of a channel shares its filter.
+ * toDense                 |  Returns the equivalent fully connected weight layer.
+ * options                 |  Returns the keyword line describing the layer.
+ * writeWeights            |  Writes each filter's weights on a line.
+ * readWeights             |  Reads each filter's weights.
+ */
+
+import java.util.*;
+import java.io.*;
+
+public class ConvLayer implements Layer
+{
+   int channels;              // The number of source image channels
+   int height;                // The number of rows of pels in each source channel
+   int width;                 // The number of pels in each row of each source channel
+   int kernel;                // The number of rows and columns of weights in a filter for one source channel
+   int filters;               // The number of destination image channels, one per filter
+   int outHeight;             // The number of rows of pels in each destination channel
+   int outWidth;              // The number of pels in each row of each destination channel
+
+   /*
+    * The ConvLayer constructor creates a ConvLayer, given the number of source channels, their height and width,
+    * the kernel size and the number of filters. Its weights are stored for [filter][channel][kernel row][kernel column].
+    */
+   public ConvLayer(int sourceChannels, int sourceHeight, int sourceWidth, int kernelSize, int filterCount)
+   {
+      channels = sourceChannels;
+      height = sourceHeight;
+      width = sourceWidth;
+      kernel = kernelSize;
+      filters = filterCount;
+      outHeight = height - kernel + 1;
+      outWidth = width - kernel + 1;
+
+      return;
+   }
+
+   /*
+    * size returns the number of weights in all the filters, which is the length of the layer's weight array.
+    */
+   public int size()
+   {
+      return filters * channels * kernel * kernel;
+   }
+
+   /*
+    * dot returns the dot product of the filter of a given destination pel and the source pels under it.
+    */
+   public double dot(double weights[], int row, double activations[])
+   {
+      double dotProduct = 0.0;
+      int filter = row / (outHeight * outWidth);
+      int y = (row / outWidth) % outHeight;
+      int x = row % outWidth;
+      int w = filter * channels * kernel * kernel;                     // The filter's first weight
+
+      for (int c = 0; c < channels; c++)
+      {
+         for (int dy = 0; dy < kernel; dy++)
+         {
+            int source = (c * height + y + dy) * width + x;           // The first source pel of this kernel row
+            for (int dx = 0; dx < kernel; dx++, w++)
+               dotProduct += activations[source + dx] * weights[w];
+         }
+      }
+
+      return dotProduct;
+   }  // public double dot(double weights[], int row, double activations[])
+
+   /*
+    * backprop adds psi times each weight of the filter of a given destination pel to the omega of the source pel
+    * under it, then applies steepest descent to the weight. Other pels share the filter, so their omega would see 
+    * weights already updated; Network therefore calls it with lambda 0 for every pel before it calls update.
+    */
+   public void backprop(double omega[], double weights[], int row, double activations[], double psi, double lambda)
+   {
+      int filter = row / (outHeight * outWidth);
+      int y = (row / outWidth) % outHeight;
+      int x = row % outWidth;
+      int w = filter * channels * kernel * kernel;
+
+      for (int c = 0; c < channels; c++)
+      {
+         for (int dy = 0; dy < kernel; dy++)
+         {
+            int source = (c * height + y + dy) * width + x;
+            for (int dx = 0; dx < kernel; dx++, w++)
+            {
+               omega[source + dx] += psi * weights[w];                        // Set omega for next round
+               weights[w] -= lambda * activations[source + dx] * psi;         // Update weights
+            }
+         }
+      }
+
+      return;
+   }  // public void backprop(double omega[], double weights[], int row, double activations[], double psi, double lambda)
+
+   /*
+    * update applies steepest descent to each weight of the filter of a given destination pel.
+    */
+   public void update(double weights[], int row, double activations[], double psi, double lambda)
+   {
+      int filter = row / (outHeight * outWidth);
+      int y = (row / outWidth) % outHeight;
+      int x = row % outWidth;
+      int w = filter * channels * kernel * kernel;
+
+      for (int c = 0; c < channels; c++)
+      {
+         for (int dy = 0; dy < kernel; dy++)
+         {
+            int source = (c * height + y + dy) * width + x;
+            for (int dx = 0; dx < kernel; dx++, w++)
+               weights[w] -= lambda * activations[source + dx] * psi;         // Update weights
+         }
+      }
+
+      return;
+   }  // public void update(double weights[], int row, double activations[], double psi, double lambda)
+
+   /*
+    * gradient adds psi times each weight of the filter of a given destination pel to the omega of the source pel
+    * under it, if omega is given, and adds the weight's gradient for this pel to its entry of gradient. A filter's
+    * gradient is the sum over every pel that uses it.
+    */
+   public void gradient(double omega[], double weights[], double gradient[], int row, double activations[], double psi)
+   {
+      int filter = row / (outHeight * outWidth);
+      int y = (row / outWidth) % outHeight;
+      int x = row % outWidth;
+      int w = filter * channels * kernel * kernel;
+
+      for (int c = 0; c < channels; c++)
+      {
+         for (int dy = 0; dy < kernel; dy++)
+         {
+            int source = (c * height + y + dy) * width + x;
+            for (int dx = 0; dx < kernel; dx++, w++)
+            {
+               if (omega != null)
+                  omega[source + dx] += psi * weights[w];                     // Set omega for next round
+               gradient[w] += activations[source + dx] * psi;                 // Accumulate the gradient
+            }
+         }
+      }
+
+      return;
+   }  // public void gradient(double omega[], double weights[], double gradient[], int row, double activations[], double psi)
+
+   /*
+    * connections returns the number of multiply-adds one evaluation takes, a whole filter for each destination pel.
+    */
+   public long connections()
+   {
+      return (long) filters * outHeight * outWidth * channels * kernel * kernel;
+   }
+
+   /*
+    * sharesWeights returns true, as every pel of a destination channel uses the same filter.
+    */
+   public boolean sharesWeights()
+   {
+      return true;
+   }
+
+   /*
+    * toDense returns the fully connected weight layer, laid out as in Network, with each filter copied to every
+    * destination pel it is used for and 0 elsewhere.
+    */
+   public double[] toDense(double weights[])
+   {
+      int sources = channels * height * width;
+      double dense[] = new double[filters * outHeight * outWidth * sources];
+
+      for (int row = 0; row < filters * outHeight * outWidth; row++)
+      {
+         int filter = row / (outHeight * outWidth);
+         int y = (row / outWidth) % outHeight;
+         int x = row % outWidth;
+         int w = filter * channels * kernel * kernel;
+
+         for (int c = 0; c < channels; c++)
+            for (int dy = 0; dy < kernel; dy++)
+               for (int dx = 0; dx < kernel; dx++, w++)
+                  dense[row * sources + (c * height + y + dy) * width + x + dx] = weights[w];
+      }
+
+      return dense;
+   }  // public double[] toDense(double weights[])
+
+   /*
+    * options returns the keyword line describing weight layer m as this convolution.
+    */
+   public String options(int m)
+   {
+      return String.format("conv %d %d %d %d %d", m, channels, height, width, kernel);
+   }
+
+   /*
+    * writeWeights writes each filter's weights on its own line.
+    */
+   public void writeWeights(BufferedWriter writer, double weights[]) throws IOException
+   {
+      int perFilter = channels * kernel * kernel;
+
+      for (int filter = 0; filter < filters; filter++)
+      {
+         for (int w = filter * perFilter; w < (filter + 1) * perFilter; w++)
+            writer.append(String.format("%.15f ", weights[w]));
+         writer.append("\n");
+      }
+
+      return;
+   }
+
+   /*
+    * readWeights reads and returns the filters' weights as writeWeights writes them.
+    */
+   public double[] readWeights(Scanner scanner)
+   {
+      double weights[] = new double[size()];
+
+      for (int w = 0; w < weights.length; w++)
+         weights[w] = scanner.nextDouble();
+
+      return weights;
+   }
+}  // public class ConvLayer
@@ -0,0 +1,38 @@
+/*
+ * Authored by Bennett Liu on October 17th, 2026
+ * 
+ * The ConvertNetwork class contains a main function that converts an exported network between double precision, 
+ * as saved by Network.java, and single precision, as saved by FloatNetwork.java. Converting to float rounds every 
+ * weight to the nearest float. Converting to double writes every weight with the 15 decimal places Network saves 
+ * with, so each weight moves by up to 5e-16. Converting the result back to float recovers every weight whose 
+ * magnitude is at least about 2e-8; smaller ones may round to a neighbouring float.
+ */
+
+import java.util.*;
+import java.io.*;
+
+public class ConvertNetwork 
+{
+   public static void main(String[] args) 
+   {
+      Scanner in = new Scanner(System.in);   // Create scanner to take input from console 
+
+      System.out.println("Enter the file that you'd like to import your network from: ");
+      String inputFileName = in.next();
+
+      System.out.println("Enter the precision to convert to (float or double): ");
+      String precision = in.next();
+
+      System.out.println("Enter the file that you'd like the converted network to be printed in: ");
+      String outputFileName = in.next();
+
+      if (precision.equalsIgnoreCase("float"))
+         new FloatNetwork(new File(inputFileName)).exportNet(outputFileName);
+      else
+         new Network(new File(inputFileName)).exportNet(outputFileName);
+
+      in.close();          // Close scanner
+
+      return;
+   } // public static void main(String[] args)
+} // public class ConvertNetwork
@@ -0,0 +1,76 @@
+/*
+ * Authored by Bennett Liu on October 17th, 2026
+ * 
+ * EvalContext.java holds the scratch values a Network fills in while evaluating or training: dot products, activations, 
+ * omegas and the block activations of evalBatch. A Network's weights are only read during evaluation, so any number 
+ * of threads can evaluate one Network at the same time as long as each uses its own EvalContext.
+ * 
+ * Contains the following methods:
+ * 
+ * Method                  |  Description
+ * ------------------------|---------------------
+ * EvalContext             |  A constructor for creating the scratch values of a network, given its nodes per layer.
+ * initBatchVals           |  Creates the block activations used by evalBatch.
+ * initPartialOmega        |  Creates the per-piece omegas used by parallel steps.
+ */
+
+public class EvalContext
+{
+   double dotVals[][];        // Dot product values for [layer][node]
+   double activationVals[][]; // Activation value for [layer][node]
+   double omega[][];          // Error terms passed back through the model by step for [layer][node]
+   double batchVals[][][];    // Activation values used by evalBatch for [layer][sample][node]
+   double partialOmega[][];   // Omega summed by each piece of a parallel step for [piece][node]
+
+   boolean sparseInputs;      // Whether activeInputs lists every non-zero input of the current evaluation
+   int activeInputs[];        // The indices of the non-zero inputs, in increasing order
+   int activeCount;           // The number of indices in activeInputs
+
+   /*
+    * The EvalContext constructor creates dot product, activation values and omega matrices, sized exactly to each layer 
+    * of a network with the given number of nodes per layer, and the list of non-zero inputs.
+    */
+   public EvalContext(int nodesInLayer[])
+   {
+      dotVals = new double[nodesInLayer.length][];
+      activationVals = new double[nodesInLayer.length][];
+      omega = new double[nodesInLayer.length][];
+      for (int layer = 0; layer < nodesInLayer.length; layer++)
+      {
+         dotVals[layer] = new double[nodesInLayer[layer]];
+         activationVals[layer] = new double[nodesInLayer[layer]];
+         omega[layer] = new double[nodesInLayer[layer]];
+      }
+      activeInputs = new int[nodesInLayer[0]];
+
+      return;
+   }  // public EvalContext(int nodesInLayer[])
+
+   /*
+    * initBatchVals creates the block activations used by evalBatch, given the nodes per layer and the block size. It 
+    * does nothing if they already exist.
+    */
+   void initBatchVals(int nodesInLayer[], int batchSize)
+   {
+      if (batchVals != null)
+         return;
+
+      batchVals = new double[nodesInLayer.length][batchSize][];
+      for (int layer = 0; layer < nodesInLayer.length; layer++)
+         for (int sample = 0; sample < batchSize; sample++)
+            batchVals[layer][sample] = new double[nodesInLayer[layer]];
+
+      return;
+   }  // void initBatchVals(int nodesInLayer[], int batchSize)
+
+   /*
+    * initPartialOmega creates one omega array of a given length for each of a given number of pieces of a parallel 
+    * step. It does nothing if they already exist.
+    */
+   void initPartialOmega(int pieces, int length)
+   {
+      if (partialOmega == null)
+         partialOmega = new double[pieces][length];
+      return;
+   }
+}  // public class EvalContext
@@ -0,0 +1,14 @@
+/*
+ * Authored by Bennett Liu on October 17th, 2026
+ * 
+ * Evaluator.java defines the eval contract shared by every form of a trained network, so that code running a network 
+ * does not need to know whether it holds a Network, a FloatNetwork, a QuantizedNetwork or a compiled network.
+ */
+
+public interface Evaluator
+{
+   /*
+    * eval evaluates and returns the output of the network in a new array, given an array of inputs.
+    */
+   double[] eval(double inputArray[]);
+}
@@ -0,0 +1,109 @@
+/*
+ * Authored by Bennett Liu on October 17th, 2026
+ *
+ * The FactorNetwork class contains a main function that imports a trained Network from a file and factors chosen
+ * weight layers into two thin layers of low rank, as described in LowRank.java. It reports how far the outputs moved
+ * on a set of test inputs and how long evaluating them took before and after, then exports the factored network,
+ * which can be trained further like any other.
+ */
+
+import java.util.*;
+import java.io.*;
+
+public class FactorNetwork
+{
+   static final int TIMING_REPEATS = 20;     // The number of times the test inputs are evaluated for timing
+
+   public static void main(String[] args)
+   {
+      int testCases;                         // The number of test cases
+      double testInputs[][];                 // The inputs for each test case
+
+      Scanner in = new Scanner(System.in);   // Create scanner to take input from console
+
+      // Import network from file, keeping an untouched copy to compare against
+      System.out.println("Enter the file that you'd like to import your network from: ");
+      String fileName = in.next();
+      Network network = new Network(new File(fileName));
+      Network original = new Network(new File(fileName));
+
+      /*
+       * Read test case inputs, namely:
+       *
+       * The number of test cases
+       * Each test case's inputs
+       */
+      System.out.println("How many test cases: ");
+      testCases = in.nextInt();
+
+      testInputs = new double[testCases][network.inputs];
+      for (int i = 1; i <= testCases; i++)
+      {
+         System.out.println(String.format("Test Case %d", i));
+         for (int j = 1; j <= network.inputs; j++)
+         {
+            System.out.println(String.format("Input %d:", j));
+            testInputs[i - 1][j - 1] = in.nextDouble();
+         }
+      }
+
+      // Factor the chosen weight layers, where inserted layers shift the later ones
+      int shift = 0;
+      for (int layer = 0; layer < original.layers - 1; layer++)
+      {
+         System.out.println(String.format("Largest rank for weight layer %d, %d x %d (0 to leave it): ", layer,
+                                          original.nodesInLayer[layer + 1], original.nodesInLayer[layer]));
+         int maxRank = in.nextInt();
+         if (maxRank <= 0)
+            continue;
+         System.out.println("Share of squared weights to keep (0 to 1): ");
+         double energy = in.nextDouble();
+
+         int rank = network.factorLayer(layer + shift, maxRank, energy);
+         System.out.println(String.format("Weight layer %d factored to rank %d, %d weights instead of %d", layer, rank,
+                                          network.weights[layer + shift].length + network.weights[layer + shift + 1].length,
+                                          original.weights[layer].length));
+         shift++;
+      }  // for (int layer = 0; layer < original.layers - 1; layer++)
+
+      // Report how far the outputs moved and how long evaluating took
+      double originalOutputs[][] = new double[testCases][network.outputs];
+      double factoredOutputs[][] = new double[testCases][network.outputs];
+      long originalTime = timeEval(original, testInputs, originalOutputs);
+      long factoredTime = timeEval(network, testInputs, factoredOutputs);
+
+      double largest = 0.0;
+      for (int i = 0; i < testCases; i++)
+      {
+         for (int j = 0; j < network.outputs; j++)
+            largest = Math.max(largest, Math.abs(originalOutputs[i][j] - factoredOutputs[i][j]));
+      }
+      System.out.println(String.format("Largest output difference: %.15f", largest));
+      System.out.println(String.format("Evaluation time: %d ms before, %d ms after", originalTime / 1000000,
+                                       factoredTime / 1000000));
+
+      // Save network to file
+      System.out.println("Enter the file that you'd like the factored network to be saved in: ");
+      String outputFileName = in.next();
+      network.exportNet(outputFileName);
+
+      in.close();          // Close scanner
+
+      return;
+   } // public static void main(String[] args)
+
+   /*
+    * timeEval returns the nanoseconds taken to evaluate a given network on the given inputs TIMING_REPEATS times,
+    * after one untimed warm up, leaving the outputs in a given array.
+    */
+   private static long timeEval(Network network, double inputs[][], double outputs[][])
+   {
+      network.evalBatch(inputs, outputs);
+
+      long start = System.nanoTime();
+      for (int repeat = 0; repeat < TIMING_REPEATS; repeat++)
+         network.evalBatch(inputs, outputs);
+
+      return System.nanoTime() - start;
+   }
+} // public class FactorNetwork
@@ -34,11 +34,22 @@ public class Fingers
       trainer.train(1.0, 4.0, 100000, 0, 0.0001, 1, 10);
       network = trainer.getNetwork();                    // Retrieve trained network
 
+      PelGetter pelGetter = new PelGetter();
+      double testInputs[][] = new double[numbers * (totalCases - cases)][];
       for (int i = 1; i <= numbers; i++)
       {
          for (int j = cases + 1; j <= totalCases; j++)
          {
-            double results[] = network.eval("SmallGrayBMP/" + Integer.toString(i) + "_" + Integer.toString(j) + ".bmp");
+            testInputs[((i - 1) * (totalCases - cases)) + (j - cases - 1)] = pelGetter.getPels("SmallGrayBMP/" + Integer.toString(i) + "_" + Integer.toString(j) + ".bmp");
+         }
+      }
+      double testResults[][] = network.evalBatch(testInputs);   // Evaluate all test images at once
+
+      for (int i = 1; i <= numbers; i++)
+      {
+         for (int j = cases + 1; j <= totalCases; j++)
+         {
+            double results[] = testResults[((i - 1) * (totalCases - cases)) + (j - cases - 1)];
             int best = 0;
             for (int k = 1; k < 5; k++) {
                if(results[best] < results[k]) best = k;
@@ -0,0 +1,437 @@
+/*
+ * Authored by Bennett Liu on October 17th, 2026
+ * 
+ * FloatNetwork.java implements the same feed-forward multi-layer perceptron as Network.java, but stores its weights, 
+ * dot products and activations as single-precision floats. This halves the memory and bandwidth the network needs 
+ * and doubles the number of values each SIMD instruction in Kernels works on. Inputs and outputs are still passed 
+ * as doubles so that FloatNetwork can be used wherever a Network is evaluated.
+ * 
+ * Contains the following methods:
+ * 
+ * Method                  |  Description
+ * ------------------------|---------------------
+ * FloatNetwork            |  A constructor for creating a FloatNetwork with randomized weights.
+ * FloatNetwork            |  A constructor for loading a FloatNetwork from a file saved by Network or FloatNetwork.
+ * exportNet               |  Exports the FloatNetwork to a specified file.
+ * setDoubleSums           |  Chooses whether dot products are summed in double precision.
+ * initRandomizedWeights   |  Randomly initializes the weights matrix, given bounds.
+ * initActivationVals      |  Creates the activations matrix.
+ * loadInputs              |  Loads a given array of inputs into the input activations.
+ * thresholdF              |  The threshold function applied to a node's input values.
+ * dThresholdF             |  The derivative of the threshold function, given the node's activation value.
+ * dotProduct              |  Calculates the dot product for node (n, i)'s input values.
+ * eval                    |  Evaluates the network, given an array of float inputs.
+ * eval                    |  Evaluates the network into a given output array, given an array of float inputs.
+ * eval                    |  Evaluates the network, given an array of double inputs.
+ * eval                    |  Evaluates the network into a given output array, given an array of double inputs.
+ * forward                 |  Calculates every node's activation value, given an array of float inputs.
+ * eval                    |  Evaluates the network, given an image file name.
+ * step                    |  Trains the network using steepest descent, given a training case.
+ * setWeights              |  Sets the weights to a given matrix.
+ */
+
+import java.util.*;
+import java.io.*;
+
+/*
+ * The FloatNetwork class defines a single-precision feed-forward multi-layer neural network.
+ */
+public class FloatNetwork implements Evaluator
+{
+   int layers;                // The total number of layers
+   int nodesInLayer[];        // The number of nodes for [layer]
+   int maxNodes;              // The maximum number of nodes in a layer
+
+   int inputs;                // The number of input nodes
+   int inputIndex;            // The index of the input layer
+   int outputs;               // The number of output nodes
+   int outputIndex;           // The index of the output layer
+
+   float weights[][];         // Weight in model for [layer][rightNode * nodesInLayer[layer] + leftNode]
+   float dotVals[][];         // Dot product values in model for [layer][node]
+   float activationVals[][];  // Activation value in model for [layer][node]
+   float omega[][];           // Omega values reused by every step for [layer][node]
+   float floatInputs[];       // Double inputs rounded to float, reused by every eval given doubles
+
+   boolean doubleSums;        // Whether dot products are accumulated in double before rounding to float
+
+   /*
+    * The FloatNetwork constructor creates a new FloatNetwork with randomized weights, given the number of input nodes, 
+    * nodes in each hidden layer, output nodes, and the bounds of randomization.
+    */
+   public FloatNetwork(int inputNodes, int hiddenLayerNodes[], int outputNodes, double minWeight, double maxWeight)
+   { 
+      layers = hiddenLayerNodes.length + 2;           // Total layers is hidden layers + input + output layers
+
+      inputIndex = 0;                                 // Input layer index is always 0
+      inputs = inputNodes;                            // Get nodes in input layer
+      outputIndex = layers - 1;                       // Output layer index is always last index
+      outputs = outputNodes;                          // Get nodes in output layer
+
+      nodesInLayer = new int[layers];                 // Create nodesInLayer, the number of nodes in each layer
+      nodesInLayer[inputIndex] = inputs;
+      for (int i = 1; i < layers - 1; i++)
+         nodesInLayer[i] = hiddenLayerNodes[i - 1];
+      nodesInLayer[outputIndex] = outputs;
+
+      calcMaxNodes();                                 // Calculates the maximum nodes in each layer
+      initRandomizedWeights(minWeight, maxWeight);    // Initialize weights matrix
+      initActivationVals();                           // Initialize activation matrix
+
+      return;
+   }  // public FloatNetwork(int inputNodes, int hiddenLayerNodes[], int outputNodes, double minWeight, double maxWeight)
+   
+   /*
+    * The FloatNetwork constructor loads a FloatNetwork from a file describing its structure. Files saved by Network 
+    * are accepted too, with their weights rounded to the nearest float.
+    */
+   public FloatNetwork(File file)
+   {
+      try 
+      {
+         Scanner scanner = new Scanner(file);
+
+         layers = scanner.nextInt();                              // Number of layers
+
+         nodesInLayer = new int[layers];                          // Parse the number of nodes in each layer
+         for (int i = 0; i < layers; i++)
+            nodesInLayer[i] = scanner.nextInt();
+         while (scanner.hasNext() && !scanner.hasNextDouble())    // Check the keyword lines before the weights
+         {
+            String keyword = scanner.next();
+            if (keyword.equals("activations"))                    // Only the sigmoid is supported in float
+            {
+               for (int layer = 1; layer < layers; layer++)
+                  if (!scanner.next().equals("sigmoid"))
+                     throw new IllegalArgumentException("FloatNetwork only supports the sigmoid threshold function");
+            }
+            else if (keyword.equals("seed"))                      // The seed needs nothing further
+            {
+               scanner.nextLong();
+            }
+            else if (keyword.equals("sparse") || keyword.equals("conv") || keyword.equals("pool"))
+            {                                                     // Only fully connected layers are supported in float
+               throw new IllegalArgumentException("FloatNetwork only supports fully connected layers");
+            }
+            else if (!keyword.equals("float"))                    // The precision marker needs nothing further
+            {
+               throw new IllegalArgumentException(String.format("Unknown network file keyword %s", keyword));
+            }
+         }
+         
+         inputIndex = 0;                                          // Input layer index is always 0
+         inputs = nodesInLayer[inputIndex];                       // Get nodes in input layer
+         outputIndex = layers - 1;                                // Output layer index is always last index
+         outputs = nodesInLayer[outputIndex];                     // Get nodes in output layer
+
+         calcMaxNodes();                                          // Calculates the maximum nodes in each layer
+
+         weights = new float[layers - 1][];                       // Initialize weights matrix
+         for (int layer = 0; layer < layers - 1; layer++)
+         {
+            weights[layer] = new float[nodesInLayer[layer] * nodesInLayer[layer + 1]];
+            for (int i = 0; i < nodesInLayer[layer]; i++)
+            {
+               for (int j = 0; j < nodesInLayer[layer + 1]; j++)
+               {
+                  weights[layer][j * nodesInLayer[layer] + i] = (float) scanner.nextDouble();
+               }
+            }
+         }
+
+         initActivationVals();                                    // Initialize activation matrix
+         scanner.close();
+      }  // try
+      catch (Exception e)
+      {
+         System.out.println(String.format("Exception: FloatNetwork could not be intialized with file %s", file.getName()));
+      }
+
+      return;
+   }  // public FloatNetwork(File file)
+   
+   /*
+    * exportNet writes the fundamental structure of the network to a provided file name. This includes the number 
+    * of layers, nodes in each layer, the float precision marker and weights. Nine significant digits are enough 
+    * to load every float back exactly.
+    */
+   public void exportNet(String fileName)
+   {
+      try 
+      {
+         FileWriter fw = new FileWriter(fileName);
+         BufferedWriter writer = new BufferedWriter(fw);
+
+         writer.append(String.format("%d\n", layers));                           // Print number of layers
+
+         for (int i = 0; i < layers; i++)                                        // Print nodes per layer
+            writer.append(String.format("%d ", nodesInLayer[i]));
+         writer.append("\n");
+         writer.append("float\n");                                               // Print precision marker
+
+         for (int layer = 0; layer < layers - 1; layer++)                        // Print all weights
+         {
+            writer.append("\n");
+            for (int i = 0; i < nodesInLayer[layer]; i++)                        // Prints weights connecting layer m to m + 1
+            {
+               for (int j = 0; j < nodesInLayer[layer + 1]; j++)
+               {
+                  writer.append(String.format("%.9g ", weights[layer][j * nodesInLayer[layer] + i]));
+               }
+               writer.append("\n");
+            }
+         }  // for (int layer = 0; layer < layers - 1; layer++)
+
+         writer.close();
+      }  // try
+      catch (IOException e)
+      {
+         e.printStackTrace();
+      }
+
+      return;
+   } // public void exportNet(String fileName)
+
+   /*
+    * setDoubleSums chooses whether dot products are accumulated in double precision. Float sums use the SIMD kernels 
+    * and are fastest; double sums avoid the rounding error of adding thousands of floats on very wide layers.
+    */
+   public void setDoubleSums(boolean useDoubleSums)
+   {
+      doubleSums = useDoubleSums;
+      return;
+   }
+
+   /*
+    * calcMaxNodes calculates the maximum number of nodes in any layer and updates the related instance variable.
+    */
+   private void calcMaxNodes()
+   {
+      maxNodes = 0;
+      for (int i = 0; i < layers; i++)
+         maxNodes = Math.max(maxNodes, nodesInLayer[i]);
+      
+      return;
+   }
+
+   /*
+    * initRandomizedWeights creates a new weight matrix and fills in randomized weight values, given a range.
+    */
+   private void initRandomizedWeights(double minWeight, double maxWeight)
+   {
+      weights = new float[layers - 1][];
+
+      Random random = new Random();                            // initialize all weights as random
+      for (int layer = 0; layer < layers - 1; layer++)
+      {
+         weights[layer] = new float[nodesInLayer[layer] * nodesInLayer[layer + 1]];
+         for (int i = 0; i < nodesInLayer[layer]; i++)
+         {
+            for (int j = 0; j < nodesInLayer[layer + 1]; j++)
+            {
+               weights[layer][j * nodesInLayer[layer] + i] = (float) (minWeight + (maxWeight - minWeight) * random.nextDouble());
+            }
+         }
+      }
+
+      return;
+   }  // private void initRandomizedWeights(double minWeight, double maxWeight)
+
+   /*
+    * initActivationVals creates new dot product, activation value and omega matrices, sized exactly to each layer, 
+    * and the float inputs, which evaluating and stepping reuse so that neither allocates.
+    */
+   private void initActivationVals()
+   {
+      dotVals = new float[layers][];
+      activationVals = new float[layers][];
+      omega = new float[layers][];
+      for (int layer = 0; layer < layers; layer++)
+      {
+         dotVals[layer] = new float[nodesInLayer[layer]];
+         activationVals[layer] = new float[nodesInLayer[layer]];
+         omega[layer] = new float[nodesInLayer[layer]];
+      }
+      floatInputs = new float[inputs];
+      return;
+   }
+
+   /*
+    * loadInputs initializes the input nodes' activation values, given an input array.
+    */
+   private void loadInputs(float inputArray[])
+   {
+      for (int i = 0; i < inputs; i++)
+         activationVals[inputIndex][i] = inputArray[i];
+      return;
+   }
+
+   /*
+    * thresholdF returns the result of the threshold function used to determine a node's activation state. 
+    */
+   private float thresholdF(float x)
+   {
+      return (float) (1.0 / (1.0 + Math.exp(-x)));
+   }
+
+   /*
+    * dThresholdF returns the derivative of the function thresholdF, given the node's activation value, so that no 
+    * exponential is calculated again.
+    */
+   private float dThresholdF(float activation)
+   {
+      return activation * (1.0f - activation);
+   }
+   
+   /*
+    * dotProduct calculates the dot product of node (n, i)'s input activation values and weights, given n and i.
+    */
+   private float dotProduct(int n, int i)
+   {
+      int offset = i * nodesInLayer[n - 1];              // Weights feeding node (n, i) are contiguous from this index
+
+      if (!doubleSums)
+         return Network.kernels.dot(activationVals[n - 1], weights[n - 1], offset, nodesInLayer[n - 1]);
+
+      double dotProduct = 0.0;
+      for (int j = 0; j < nodesInLayer[n - 1]; j++)       // Sum in double, then round once
+         dotProduct += (double) activationVals[n - 1][j] * weights[n - 1][offset + j];
+
+      return (float) dotProduct;
+   }  // private float dotProduct(int n, int i)
+
+   /*
+    * eval evaluates and returns the output of the network, given an array of float inputs.
+    */
+   public float[] eval(float inputArray[])
+   {
+      return eval(inputArray, new float[outputs]);
+   }
+
+   /*
+    * eval evaluates the network, given an array of float inputs, and copies its outputs into a given array, which is 
+    * returned. Nothing is allocated, so this is the form to call in a loop.
+    */
+   public float[] eval(float inputArray[], float outputArray[])
+   {
+      forward(inputArray);
+      System.arraycopy(activationVals[outputIndex], 0, outputArray, 0, outputs);   // Copy output values
+      return outputArray;
+   }
+
+   /*
+    * forward calculates every node's dot product and activation value, given an array of float inputs.
+    */
+   private void forward(float inputArray[])
+   {
+      loadInputs(inputArray);
+
+      for (int layer = 1; layer <= outputIndex; layer++)
+      {
+         for (int i = 0; i < nodesInLayer[layer]; i++)
+         {
+            dotVals[layer][i] = dotProduct(layer, i);
+            activationVals[layer][i] = thresholdF(dotVals[layer][i]);         // Calculate activation value
+         }
+      }
+
+      return;
+   }  // private void forward(float inputArray[])
+
+   /*
+    * eval evaluates and returns the output of the network as doubles, given an array of double inputs.
+    */
+   public double[] eval(double inputArray[])
+   {
+      return eval(inputArray, new double[outputs]);
+   }
+
+   /*
+    * eval evaluates the network, given an array of double inputs, and copies its outputs as doubles into a given 
+    * array, which is returned. The inputs are rounded into the network's own float inputs, so nothing is allocated.
+    */
+   public double[] eval(double inputArray[], double outputArray[])
+   {
+      for (int i = 0; i < inputs; i++)
+         floatInputs[i] = (float) inputArray[i];
+
+      forward(floatInputs);
+      for (int i = 0; i < outputs; i++)
+         outputArray[i] = activationVals[outputIndex][i];
+
+      return outputArray;
+   }  // public double[] eval(double inputArray[], double outputArray[])
+   
+   /*
+    * eval evaluates and returns the output of the network, given an image file name, which provides an array of inputs.
+    */
+   public double[] eval(String filename)
+   { 
+      PelGetter pelGetter = new PelGetter();
+      double inputArray[] = pelGetter.getPels(filename);
+      return eval(inputArray);                           // Calls eval on extracted double inputs
+   } 
+
+   /*
+    * step trains the network using steepest descent, given a training case. Its results are read straight from the 
+    * output activations and omega is the network's own, cleared each step, so a step allocates nothing.
+    */
+   public void step(float inputArray[], float expectedOutputs[], float lambda)
+   {
+      int layer;
+      float psi;
+      float layerWeights[];
+      int stride;
+      float results[] = activationVals[outputIndex];
+
+      forward(inputArray);
+      for (layer = 1; layer < layers - 1; layer++)                                     // Clear the last step's omega
+         Arrays.fill(omega[layer], 0.0f);
+      
+      // Evaluate and update last weight layer
+      layer = layers - 2;                                                              // layers - 2 gives the last weight layer
+      layerWeights = weights[layer];
+      stride = nodesInLayer[layer];
+      for (int j = 0; j < nodesInLayer[layer + 1]; j++)                                // Current weight's destination node
+      {
+         psi = (results[j] - expectedOutputs[j]) * dThresholdF(results[j]);            // Calculate psi
+         // Set omega for next round and update weights from every source node
+         Network.kernels.backprop(omega[layer], layerWeights, j * stride, activationVals[layer], psi, lambda, stride);
+      }
+      
+      // Evaluate and update all middle weight layers
+      for (layer = layers - 3; layer >= 1; layer--)
+      {
+         layerWeights = weights[layer];
+         stride = nodesInLayer[layer];
+         for (int j = 0; j < nodesInLayer[layer + 1]; j++)                             // Current weight's destination node
+         {
+            psi = omega[layer + 1][j] * dThresholdF(activationVals[layer + 1][j]);     // Calculate psi
+            // Set omega for next round and update weights from every source node
+            Network.kernels.backprop(omega[layer], layerWeights, j * stride, activationVals[layer], psi, lambda, stride);
+         }
+      }  // for (layer = layers - 3; layer >= 1; layer--)
+
+      // Update first weight layer
+      layer = 0;                                                                       // 0 is the first weight layer
+      layerWeights = weights[layer];
+      stride = nodesInLayer[layer];
+      for (int j = 0; j < nodesInLayer[layer + 1]; j++)                                // Current weight's destination node
+      {
+         psi = omega[layer + 1][j] * dThresholdF(activationVals[layer + 1][j]);        // Calculate psi
+         // Update weights from every source node
+         Network.kernels.update(layerWeights, j * stride, activationVals[layer], psi, lambda, stride);
+      }
+
+      return;
+   }  // public void step(float inputArray[], float expectedOutputs[], float lambda)
+ 
+   /*
+    * setWeights changes the network's weights to a given set of weights, laid out one array per weight layer.
+    */
+   public void setWeights(float newWeights[][])
+   {
+      weights = newWeights;
+      return;
+   }
+}  // public class FloatNetwork 
@@ -0,0 +1,236 @@
+/*
+ * Authored by Bennett Liu on October 17th, 2026
+ * 
+ * FloatNetworkTrainer.java implements a trainer of the single-precision network defined in FloatNetwork.java. It 
+ * follows the same adaptive steepest descent as NetworkTrainer.java and keeps its training set as floats, but 
+ * accumulates the total error in double so that the accept or roll back decision stays stable on large sets.
+ * 
+ * Contains the following methods:
+ * 
+ * Method                  |  Description
+ * ------------------------|---------------------
+ * FloatNetworkTrainer     |  A constructor for creating a trainer, given a network and a training set of doubles.
+ * FloatNetworkTrainer     |  A constructor for creating a trainer, given a network and a training set of image inputs and double outputs.
+ * FloatNetworkTrainer     |  A constructor for creating a trainer, given a network and a training set of images.
+ * toFloats                |  Rounds an array of doubles to floats.
+ * calcError               |  Calculates the total error for the whole training set.
+ * train                   |  Runs training steps while certain conditions are met.
+ * adaptiveImprove         |  Runs adaptive training
+ * printResults            |  Prints the training factor and total error.
+ * getNetwork              |  Returns the current network.
+ */
+
+import java.util.*;
+
+public class FloatNetworkTrainer
+{
+   FloatNetwork network;         // The network to be trained
+   int trainingCases;            // The number of training cases
+   float trainingInputs[][];     // The inputs to be trained on
+   float trainingOutputs[][];    // The outputs to be trained on
+
+   double error;                 // The network's current error
+   double trainingFactor;        // The training factor (lambda)
+   double adaptConstant;         // The adaptive factor, used to modify lambda
+
+   float results[];              // The outputs of the training case being evaluated, reused by calcError
+   float savedWeights[][];       // The weights before the current epoch, reused by adaptiveImprove for roll back
+
+   /*
+    * The FloatNetworkTrainer constructor creates a new FloatNetworkTrainer, given a network and double training inputs/outputs.
+    */
+   public FloatNetworkTrainer(FloatNetwork initialNetwork, double inputs[][], double outputs[][])
+   {
+      network = initialNetwork;
+      trainingCases = inputs.length;
+      trainingInputs = new float[trainingCases][];
+      trainingOutputs = new float[trainingCases][];
+      for (int i = 0; i < trainingCases; i++)
+      {
+         trainingInputs[i] = toFloats(inputs[i]);
+         trainingOutputs[i] = toFloats(outputs[i]);
+      }
+      error = calcError();
+
+      return;
+   }
+
+   /*
+    * The FloatNetworkTrainer constructor creates a new FloatNetworkTrainer, given a network, image file name training 
+    * inputs, and double training outputs.
+    */
+   public FloatNetworkTrainer(FloatNetwork initialNetwork, String inputFilenames[], double outputs[][])
+   {
+      PelGetter pelGetter = new PelGetter();
+
+      network = initialNetwork;
+      trainingCases = inputFilenames.length;
+      trainingInputs = new float[trainingCases][];
+      trainingOutputs = new float[trainingCases][];
+      for (int i = 0; i < trainingCases; i++)
+      {
+         trainingInputs[i] = toFloats(pelGetter.getPels(inputFilenames[i]));
+         trainingOutputs[i] = toFloats(outputs[i]);
+      }
+      error = calcError();
+
+      return;
+   }
+
+   /*
+    * The FloatNetworkTrainer constructor creates a new FloatNetworkTrainer, given a network and image file name training 
+    * inputs/outputs.
+    */
+   public FloatNetworkTrainer(FloatNetwork initialNetwork, String inputFilenames[], String outputFilenames[])
+   {
+      PelGetter pelGetter = new PelGetter();
+
+      network = initialNetwork;
+      trainingCases = inputFilenames.length;
+      trainingInputs = new float[trainingCases][];
+      trainingOutputs = new float[trainingCases][];
+      for (int i = 0; i < trainingCases; i++)
+      {
+         trainingInputs[i] = toFloats(pelGetter.getPels(inputFilenames[i]));
+         trainingOutputs[i] = toFloats(pelGetter.getPels(outputFilenames[i]));
+      }
+      error = calcError();
+
+      return;
+   }
+
+   /*
+    * toFloats returns a given array of doubles rounded to floats.
+    */
+   private float[] toFloats(double values[])
+   {
+      float floats[] = new float[values.length];
+      for (int i = 0; i < values.length; i++)
+         floats[i] = (float) values[i];
+      return floats;
+   }
+
+   /*
+    * calcError returns the total error when the network is run for all input-output pairs. Each squared difference 
+    * is summed in double.
+    */
+   private double calcError()
+   {
+      double totalError = 0.0;
+      double diff;
+
+      if (results == null)                                     // Create the results on first use
+         results = new float[network.outputs];
+      for (int i = 0; i < trainingCases; i++)
+      {
+         network.eval(trainingInputs[i], results);             // Get results
+
+         for (int j = 0; j < network.outputs; j++)             // Calculate error for given training case
+         {
+            diff = ((double) trainingOutputs[i][j] - results[j]);
+            totalError += (diff * diff);
+         }
+      }
+      totalError /= 2.0;                                       // This halving of error is specified in design doc 1.
+
+      return totalError;
+   }  // private double calcError()
+
+   /*
+    * train runs multiple steps while some conditions are still met.
+    */
+   public void train(double initLambda, double adaptConst, int maxSteps, double minError, double minLambda, int updatePeriod, int writePeriod)
+   {
+      trainingFactor = initLambda;                                   // Set training factors
+      adaptConstant = adaptConst;
+
+      int step = 0;
+      boolean improved = true;
+      while ((step < maxSteps) && (error >= minError) && (trainingFactor >= minLambda) && (adaptConstant != 1 || improved))
+      {
+         step++;
+
+         improved = adaptiveImprove(minLambda);                               // Run an adaptive step and save the result
+
+         if ((updatePeriod > 0) && ((step % updatePeriod) == 0))              // Saves and prints output every updatePeriod steps
+            printResults();
+         if ((writePeriod > 0) && ((step % writePeriod) == 0))                // Saves and prints output every updatePeriod steps
+            network.exportNet("logs/" + (new Date()).getTime() + ".txt");
+      }  // while ((step < maxSteps) && (error >= minError) && (trainingFactor >= minLambda) && (adaptConstant != 1 || improved))
+
+      System.out.println();                                                   // Print the reason(s) for termination
+      System.out.println(String.format("Terminated after %d steps", step));
+      if (step >= maxSteps)
+         System.out.println(String.format("Steps passed limit of %d", maxSteps));
+      if (error < minError)
+         System.out.println(String.format("Error fell below %.15f", minError));
+      if (adaptConstant == 1 && !improved)
+         System.out.println("Was not able to improve error.");
+      if (trainingFactor < minLambda)
+         System.out.println(String.format("Training factor (lambda) fell below %.15f", minLambda));
+      System.out.println();
+   }  // public void train(double initLambda, double adaptConst, int maxSteps, double minError, double minLambda, int updatePeriod, int writePeriod)
+
+   /*
+    * adaptiveImprove runs a single adaptive training step for each training case. It saves initial weights 
+    * and attempts these steps simultaneously. If the step improves error, the training factor is increased, 
+    * otherwise the weights are rolled back and training factor is decreased. Returns whether error was improved. 
+    * The saved weights and the network's weights trade places on roll back, so no epoch allocates a weight matrix.
+    */
+   private boolean adaptiveImprove(double minLambda)
+   {
+      boolean improved;
+      double newError = 0.0;
+
+      if (savedWeights == null)                                                  // Create the saved weights on first use
+      {
+         savedWeights = new float[network.layers - 1][];
+         for (int layer = 0; layer < network.layers - 1; layer++)
+            savedWeights[layer] = new float[network.weights[layer].length];
+      }
+      for (int layer = 0; layer < network.layers - 1; layer++)                   // Save old weights in case of roll back
+         System.arraycopy(network.weights[layer], 0, savedWeights[layer], 0, network.weights[layer].length);
+
+      for (int trainingCase = 0; trainingCase < trainingCases; trainingCase++)  // Improve for each training case
+         network.step(trainingInputs[trainingCase], trainingOutputs[trainingCase], (float) trainingFactor);
+
+      newError = calcError();                // Calculate the new error
+      if (newError < error)                  // If steps improved error
+      {
+         error = newError;                   // Update error
+         trainingFactor *= adaptConstant;    // Make a bigger step next time
+         improved = true;
+      }
+      else                                   // If steps worsened error
+      {
+         float kept[][] = network.weights;   // Roll back weights, keeping the discarded ones for the next save
+         network.setWeights(savedWeights);
+         savedWeights = kept;
+         trainingFactor /= adaptConstant;    // Make a smaller step next time
+         improved = false;
+      }
+
+      return improved;                       // Return whether the error improved
+   }  // private boolean adaptiveImprove(double minLambda)
+
+   /*
+    * printResults prints the training factor and total error.
+    */
+   public void printResults()
+   {
+      System.out.println();
+      System.out.println(String.format("Lambda: %.15f", trainingFactor));  // Print the training factor
+      System.out.println(String.format("Total Error: %.15f", error));      // Print the total error
+      System.out.println();
+
+      return;
+   }  // public void printResults()
+
+   /*
+    * getNetwork returns the current network.
+    */
+   public FloatNetwork getNetwork()
+   {
+      return network;
+   }
+}  // public class FloatNetworkTrainer
@@ -0,0 +1,203 @@
+/*
+ * Authored by Bennett Liu on October 17th, 2026
+ *
+ * The KernelComparison class contains a main function that runs each kernel of the Vector API kernels and of
+ * ScalarKernels on the same random inputs and prints the largest difference between their results. Lengths run from
+ * 0 to MAX_LENGTH, so every remainder past the last full vector is covered, and the runs start at random offsets
+ * within the weights. backprop, update and gradient must match exactly, as VectorKernels promises, and dot must
+ * match to within the rounding that summing in a different order allows, length * epsilon times the sum of the
+ * products' magnitudes. It throws if either fails. The Vector API kernels must be compiled and their module added,
+ * as in the README; otherwise it says so and compares nothing.
+ */
+
+import java.util.*;
+
+public class KernelComparison
+{
+   static final int MAX_LENGTH = 300;        // The longest run of weights compared
+   static final int TRIALS = 20;             // The number of random inputs compared at each length
+   static final int MAX_OFFSET = 37;         // The largest offset of a run within its weights
+
+   static double maxDifference[] = new double[7];     // The largest difference found for each kernel
+   static double maxRoundoff[] = new double[7];       // The largest difference as a share of its rounding bound
+
+   public static void main(String[] args)
+   {
+      Kernels vector = Kernels.select();
+      Kernels scalar = new ScalarKernels();
+      Random random = new Random(0);
+
+      if (vector instanceof ScalarKernels)
+      {
+         System.out.println("The Vector API kernels are not loaded. Compile vector/VectorKernels.java and run with");
+         System.out.println("--add-modules jdk.incubator.vector, without -Dnetwork.kernels=scalar.");
+         return;
+      }
+
+      for (int length = 0; length <= MAX_LENGTH; length++)
+      {
+         for (int trial = 0; trial < TRIALS; trial++)
+         {
+            compareDouble(vector, scalar, random, length, random.nextInt(MAX_OFFSET + 1));
+            compareFloat(vector, scalar, random, length, random.nextInt(MAX_OFFSET + 1));
+         }
+      }
+
+      String names[] = {"dot", "backprop", "update", "gradient", "float dot", "float backprop", "float update"};
+      System.out.println(String.format("%-16s %-14s %s", "Kernel", "Max difference", "Share of rounding bound"));
+      for (int k = 0; k < names.length; k++)
+         System.out.println(String.format("%-16s %-14.3e %.3f", names[k], maxDifference[k], maxRoundoff[k]));
+
+      for (int k = 0; k < names.length; k++)
+      {
+         boolean exact = (k != 0 && k != 4);           // Only the dot products may round differently
+         if ((exact && maxDifference[k] != 0.0) || maxRoundoff[k] > 1.0)
+            throw new IllegalStateException(String.format("%s differs from ScalarKernels by %.3e", names[k], maxDifference[k]));
+      }
+
+      return;
+   }  // public static void main(String[] args)
+
+   /*
+    * compareDouble runs the double kernels of both implementations on one set of random inputs of a given length,
+    * starting at a given offset in the weights, and records the largest differences.
+    */
+   private static void compareDouble(Kernels vector, Kernels scalar, Random random, int length, int offset)
+   {
+      double activations[] = new double[length];
+      double weights[] = new double[offset + length];
+      double omega[] = new double[length];
+      double gradient[] = new double[offset + length];
+      double psi = random.nextGaussian();
+      double lambda = random.nextDouble();
+      double magnitude = 0.0;
+
+      for (int w = 0; w < weights.length; w++)
+      {
+         weights[w] = random.nextGaussian();
+         gradient[w] = random.nextGaussian();
+      }
+      for (int j = 0; j < length; j++)
+      {
+         activations[j] = random.nextDouble();
+         omega[j] = random.nextGaussian();
+         magnitude += Math.abs(activations[j] * weights[offset + j]);
+      }
+
+      double difference = Math.abs(vector.dot(activations, weights, offset, length)
+                                   - scalar.dot(activations, weights, offset, length));
+      record(0, difference, length * Math.ulp(1.0) * magnitude);
+
+      double vectorWeights[] = weights.clone();
+      double vectorOmega[] = omega.clone();
+      vector.backprop(vectorOmega, vectorWeights, offset, activations, psi, lambda, length);
+      double scalarWeights[] = weights.clone();
+      double scalarOmega[] = omega.clone();
+      scalar.backprop(scalarOmega, scalarWeights, offset, activations, psi, lambda, length);
+      record(1, Math.max(maxDifference(vectorWeights, scalarWeights), maxDifference(vectorOmega, scalarOmega)), 0.0);
+
+      vectorWeights = weights.clone();
+      vector.update(vectorWeights, offset, activations, psi, lambda, length);
+      scalarWeights = weights.clone();
+      scalar.update(scalarWeights, offset, activations, psi, lambda, length);
+      record(2, maxDifference(vectorWeights, scalarWeights), 0.0);
+
+      double vectorGradient[] = gradient.clone();
+      vectorOmega = omega.clone();
+      vector.gradient(vectorOmega, weights, vectorGradient, offset, activations, psi, length);
+      double scalarGradient[] = gradient.clone();
+      scalarOmega = omega.clone();
+      scalar.gradient(scalarOmega, weights, scalarGradient, offset, activations, psi, length);
+      difference = Math.max(maxDifference(vectorGradient, scalarGradient), maxDifference(vectorOmega, scalarOmega));
+      vectorGradient = gradient.clone();
+      vector.gradient(null, weights, vectorGradient, offset, activations, psi, length);     // Without omega
+      scalarGradient = gradient.clone();
+      scalar.gradient(null, weights, scalarGradient, offset, activations, psi, length);
+      record(3, Math.max(difference, maxDifference(vectorGradient, scalarGradient)), 0.0);
+
+      return;
+   }  // private static void compareDouble(Kernels vector, Kernels scalar, Random random, int length, int offset)
+
+   /*
+    * compareFloat runs the float kernels of both implementations on one set of random inputs of a given length,
+    * starting at a given offset in the weights, and records the largest differences.
+    */
+   private static void compareFloat(Kernels vector, Kernels scalar, Random random, int length, int offset)
+   {
+      float activations[] = new float[length];
+      float weights[] = new float[offset + length];
+      float omega[] = new float[length];
+      float psi = (float) random.nextGaussian();
+      float lambda = random.nextFloat();
+      double magnitude = 0.0;
+
+      for (int w = 0; w < weights.length; w++)
+         weights[w] = (float) random.nextGaussian();
+      for (int j = 0; j < length; j++)
+      {
+         activations[j] = random.nextFloat();
+         omega[j] = (float) random.nextGaussian();
+         magnitude += Math.abs(activations[j] * weights[offset + j]);
+      }
+
+      double difference = Math.abs(vector.dot(activations, weights, offset, length)
+                                   - scalar.dot(activations, weights, offset, length));
+      record(4, difference, length * Math.ulp(1.0f) * magnitude);
+
+      float vectorWeights[] = weights.clone();
+      float vectorOmega[] = omega.clone();
+      vector.backprop(vectorOmega, vectorWeights, offset, activations, psi, lambda, length);
+      float scalarWeights[] = weights.clone();
+      float scalarOmega[] = omega.clone();
+      scalar.backprop(scalarOmega, scalarWeights, offset, activations, psi, lambda, length);
+      record(5, Math.max(maxDifference(vectorWeights, scalarWeights), maxDifference(vectorOmega, scalarOmega)), 0.0);
+
+      vectorWeights = weights.clone();
+      vector.update(vectorWeights, offset, activations, psi, lambda, length);
+      scalarWeights = weights.clone();
+      scalar.update(scalarWeights, offset, activations, psi, lambda, length);
+      record(6, maxDifference(vectorWeights, scalarWeights), 0.0);
+
+      return;
+   }  // private static void compareFloat(Kernels vector, Kernels scalar, Random random, int length, int offset)
+
+   /*
+    * record keeps the largest difference found for kernel k, and the largest share of a given rounding bound it
+    * makes up. A bound of 0 allows no difference.
+    */
+   private static void record(int k, double difference, double bound)
+   {
+      maxDifference[k] = Math.max(maxDifference[k], difference);
+      if (bound > 0.0)
+         maxRoundoff[k] = Math.max(maxRoundoff[k], difference / bound);
+      else if (difference > 0.0)
+         maxRoundoff[k] = Double.POSITIVE_INFINITY;
+      return;
+   }
+
+   /*
+    * maxDifference returns the largest difference between matching elements of two double arrays.
+    */
+   private static double maxDifference(double a[], double b[])
+   {
+      double difference = 0.0;
+
+      for (int k = 0; k < a.length; k++)
+         difference = Math.max(difference, Math.abs(a[k] - b[k]));
+
+      return difference;
+   }
+
+   /*
+    * maxDifference returns the largest difference between matching elements of two float arrays.
+    */
+   private static double maxDifference(float a[], float b[])
+   {
+      double difference = 0.0;
+
+      for (int k = 0; k < a.length; k++)
+         difference = Math.max(difference, Math.abs(a[k] - b[k]));
+
+      return difference;
+   }
+}  // public class KernelComparison
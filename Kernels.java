@@ -0,0 +1,79 @@
+/*
+ * Authored by Bennett Liu on October 17th, 2026
+ * 
+ * Kernels.java defines the inner loops that Network spends nearly all of its time in, so that they can be backed by 
+ * either plain Java loops or SIMD instructions. The implementation is chosen once, at runtime.
+ * 
+ * Contains the following methods:
+ * 
+ * Method                  |  Description
+ * ------------------------|---------------------
+ * dot                     |  Calculates the dot product of an activation array and a run of weights.
+ * backprop                |  Accumulates omega from a run of weights and updates those weights.
+ * update                  |  Updates a run of weights without accumulating omega.
+ * gradient                |  Accumulates omega and the gradient of a run of weights without updating them.
+ * dot                     |  The single-precision dot product, summed in float.
+ * backprop                |  The single-precision backprop update.
+ * update                  |  The single-precision weight update.
+ * select                  |  Returns the SIMD kernels if they are available, otherwise the scalar kernels.
+ */
+
+public interface Kernels
+{
+   /*
+    * dot returns the sum of activations[j] * weights[offset + j] for j from 0 to length - 1.
+    */
+   double dot(double activations[], double weights[], int offset, int length);
+
+   /*
+    * backprop adds psi * weights[offset + j] to omega[j], then subtracts lambda * activations[j] * psi from 
+    * weights[offset + j], for j from 0 to length - 1.
+    */
+   void backprop(double omega[], double weights[], int offset, double activations[], double psi, double lambda, int length);
+
+   /*
+    * update subtracts lambda * activations[j] * psi from weights[offset + j] for j from 0 to length - 1.
+    */
+   void update(double weights[], int offset, double activations[], double psi, double lambda, int length);
+
+   /*
+    * gradient adds psi * weights[offset + j] to omega[j] if omega is not null, then adds activations[j] * psi to 
+    * gradient[offset + j], for j from 0 to length - 1. The weights are left unchanged.
+    */
+   void gradient(double omega[], double weights[], double gradient[], int offset, double activations[], double psi, int length);
+
+   /*
+    * dot returns the float sum of activations[j] * weights[offset + j] for j from 0 to length - 1.
+    */
+   float dot(float activations[], float weights[], int offset, int length);
+
+   /*
+    * backprop is the single-precision form of backprop, used by FloatNetwork.
+    */
+   void backprop(float omega[], float weights[], int offset, float activations[], float psi, float lambda, int length);
+
+   /*
+    * update is the single-precision form of update, used by FloatNetwork.
+    */
+   void update(float weights[], int offset, float activations[], float psi, float lambda, int length);
+
+   /*
+    * select returns the Vector API kernels when they were compiled and the jdk.incubator.vector module is present, 
+    * unless the system property network.kernels is set to scalar. Otherwise it returns the scalar kernels.
+    */
+   static Kernels select()
+   {
+      if (!"scalar".equals(System.getProperty("network.kernels")))
+      {
+         try 
+         {
+            return (Kernels) Class.forName("VectorKernels").getDeclaredConstructor().newInstance();
+         }
+         catch (Throwable e)                 // Not compiled, or the module was not added at launch
+         {
+         }
+      }
+
+      return new ScalarKernels();
+   }  // static Kernels select()
+}  // public interface Kernels
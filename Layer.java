@@ -0,0 +1,83 @@
+/*
+ * Authored by Bennett Liu on October 17th, 2026
+ *
+ * Layer.java defines how a weight layer of a Network that is not fully connected joins its source nodes to its
+ * destination nodes. The layer's weights stay in the network's weight array for the layer, in whatever order the
+ * Layer chooses, so saving, rolling back and training weights work the same on every kind of layer. Each method
+ * works on one destination node, or row, at a time, just as the Kernels do for fully connected layers.
+ *
+ * Contains the following methods:
+ *
+ * Method                  |  Description
+ * ------------------------|---------------------
+ * dot                     |  Calculates the dot product of one row's weights and its source activations.
+ * backprop                |  Accumulates omega from one row's weights and applies steepest descent to them.
+ * update                  |  Applies steepest descent to one row's weights.
+ * gradient                |  Accumulates omega, if wanted, and the gradient of one row's weights without changing them.
+ * connections             |  Returns the number of multiply-adds evaluating the layer takes.
+ * sharesWeights           |  Returns whether rows share weights, so they cannot be trained in parallel.
+ * toDense                 |  Returns the equivalent fully connected weight layer.
+ * options                 |  Returns the keyword line describing the layer in a network file.
+ * writeWeights            |  Writes the layer's weights to a network file.
+ * readWeights             |  Reads the layer's weights from a network file.
+ */
+
+import java.util.*;
+import java.io.*;
+
+public interface Layer
+{
+   /*
+    * dot returns the dot product of a given row's weights and their source activations.
+    */
+   double dot(double weights[], int row, double activations[]);
+
+   /*
+    * backprop adds psi times each of a given row's weights to its source node's omega, then subtracts lambda times
+    * the source activation times psi from the weight.
+    */
+   void backprop(double omega[], double weights[], int row, double activations[], double psi, double lambda);
+
+   /*
+    * update subtracts lambda times the source activation times psi from each of a given row's weights.
+    */
+   void update(double weights[], int row, double activations[], double psi, double lambda);
+
+   /*
+    * gradient adds psi times each of a given row's weights to its source node's omega if omega is not null, then adds 
+    * the source activation times psi to the weight's entry of gradient, which is laid out as the weights are.
+    */
+   void gradient(double omega[], double weights[], double gradient[], int row, double activations[], double psi);
+
+   /*
+    * connections returns the number of multiply-adds, or comparisons, one evaluation of the layer takes.
+    */
+   long connections();
+
+   /*
+    * sharesWeights returns whether more than one row uses the same weight. If so, Network takes omega from every 
+    * row through backprop with lambda 0 before updating any of them.
+    */
+   boolean sharesWeights();
+
+   /*
+    * toDense returns the fully connected weight layer, laid out as in Network, that the layer's weights stand for.
+    * Throws an UnsupportedOperationException if the layer is not a weighted sum.
+    */
+   double[] toDense(double weights[]);
+
+   /*
+    * options returns the keyword line, without its newline, that marks weight layer m as this layer in a network file.
+    */
+   String options(int m);
+
+   /*
+    * writeWeights writes the layer's weights to a network file.
+    */
+   void writeWeights(BufferedWriter writer, double weights[]) throws IOException;
+
+   /*
+    * readWeights reads the layer's weights, as writeWeights writes them, from a network file and returns them.
+    */
+   double[] readWeights(Scanner scanner);
+}  // public interface Layer
@@ -0,0 +1,258 @@
+/*
+ * Authored by Bennett Liu on October 17th, 2026
+ *
+ * LowRank.java factors a dense weight layer W, laid out as in Network, into two thin layers whose product
+ * approximates W, using a randomized truncated singular value decomposition. A random sketch of W's columns is
+ * refined by power iteration into an orthonormal basis Q of W's dominant outputs, and the small matrix Q^T W is then
+ * decomposed exactly with Jacobi rotations. Only products with W touch the full layer, so factoring costs a few
+ * passes over its weights.
+ *
+ * Contains the following methods:
+ *
+ * Method                  |  Description
+ * ------------------------|---------------------
+ * factor                  |  Returns the two weight layers of a truncated factorization of a dense weight layer.
+ * multiply                |  Multiplies a dense weight layer by each of a set of source vectors.
+ * multiplyTransposed      |  Multiplies the transpose of a dense weight layer by each of a set of destination vectors.
+ * orthonormalize          |  Makes a set of vectors orthonormal in place with modified Gram-Schmidt.
+ * eigen                   |  Finds the eigenvalues and eigenvectors of a small symmetric matrix with Jacobi rotations.
+ */
+
+import java.util.*;
+
+public class LowRank
+{
+   static final int OVERSAMPLING = 10;       // Extra sketch vectors beyond the largest rank kept, for accuracy
+   static final int POWER_ITERATIONS = 2;    // Passes of W W^T applied to the sketch to sharpen its spectrum
+   static final long SKETCH_SEED = 0L;       // Seed of the sketch, so a layer always factors the same way
+
+   /*
+    * factor returns {first, second}, the weight layers of rank r whose product approximates a given dense weight
+    * layer with the given numbers of source and destination nodes. first connects the sources to r new nodes and
+    * second connects those to the destinations. r is the smallest rank, at most maxRank, whose singular values hold
+    * at least the given share, from 0 to 1, of the layer's squared Frobenius norm. Each singular value is split
+    * evenly between the two layers so neither holds much larger weights than the other.
+    */
+   public static double[][] factor(double dense[], int sources, int destinations, int maxRank, double energy)
+   {
+      int sketch = Math.min(maxRank + OVERSAMPLING, Math.min(sources, destinations));
+      Random random = new Random(SKETCH_SEED);
+
+      double omega[][] = new double[sketch][sources];                  // Random source vectors
+      for (int c = 0; c < sketch; c++)
+         for (int i = 0; i < sources; i++)
+            omega[c][i] = random.nextGaussian();
+
+      double q[][] = multiply(dense, sources, destinations, omega);    // Sketch of W's outputs
+      orthonormalize(q);
+      for (int pass = 0; pass < POWER_ITERATIONS; pass++)              // Sharpen towards the largest singular values
+      {
+         double back[][] = multiplyTransposed(dense, sources, destinations, q);
+         orthonormalize(back);
+         q = multiply(dense, sources, destinations, back);
+         orthonormalize(q);
+      }
+
+      double b[][] = multiplyTransposed(dense, sources, destinations, q);   // Row c of B = Q^T W
+      double gram[][] = new double[sketch][sketch];                         // B B^T, whose eigenvalues are sigma^2
+      for (int c = 0; c < sketch; c++)
+      {
+         for (int d = 0; d <= c; d++)
+         {
+            double sum = 0.0;
+            for (int i = 0; i < sources; i++)
+               sum += b[c][i] * b[d][i];
+            gram[c][d] = sum;
+            gram[d][c] = sum;
+         }
+      }
+
+      double vectors[][] = new double[sketch][sketch];                 // Column t is the eigenvector of values[t]
+      double values[] = eigen(gram, vectors);
+
+      Integer order[] = new Integer[sketch];                           // Largest singular values first
+      for (int t = 0; t < sketch; t++)
+         order[t] = t;
+      Arrays.sort(order, (x, y) -> Double.compare(values[y], values[x]));
+
+      double total = 0.0;                                              // Squared Frobenius norm of W
+      for (int k = 0; k < dense.length; k++)
+         total += dense[k] * dense[k];
+
+      int rank = 0;
+      double kept = 0.0;
+      while (rank < Math.min(maxRank, sketch) && values[order[rank]] > 0.0 && kept < energy * total)
+         kept += values[order[rank++]];
+      rank = Math.max(rank, 1);
+
+      double first[] = new double[rank * sources];                     // Row t is B^T e_t / sqrt(sigma_t)
+      double second[] = new double[destinations * rank];               // Column t is sqrt(sigma_t) Q e_t
+      for (int t = 0; t < rank; t++)
+      {
+         int e = order[t];
+         double sigma = Math.sqrt(Math.max(values[e], 0.0));
+         double root = Math.sqrt(sigma);
+
+         if (sigma > 0.0)
+         {
+            for (int i = 0; i < sources; i++)
+            {
+               double sum = 0.0;
+               for (int c = 0; c < sketch; c++)
+                  sum += b[c][i] * vectors[c][e];
+               first[t * sources + i] = sum / root;
+            }
+         }
+
+         for (int j = 0; j < destinations; j++)
+         {
+            double sum = 0.0;
+            for (int c = 0; c < sketch; c++)
+               sum += q[c][j] * vectors[c][e];
+            second[j * rank + t] = sum * root;
+         }
+      }  // for (int t = 0; t < rank; t++)
+
+      return new double[][] {first, second};
+   }  // public static double[][] factor(double dense[], int sources, int destinations, int maxRank, double energy)
+
+   /*
+    * multiply returns W x for each given source vector x, where W is a dense weight layer.
+    */
+   static double[][] multiply(double dense[], int sources, int destinations, double vectors[][])
+   {
+      double results[][] = new double[vectors.length][destinations];
+
+      for (int j = 0; j < destinations; j++)                           // Each row of W is read once
+      {
+         for (int c = 0; c < vectors.length; c++)
+         {
+            double sum = 0.0;
+            for (int i = 0; i < sources; i++)
+               sum += dense[j * sources + i] * vectors[c][i];
+            results[c][j] = sum;
+         }
+      }
+
+      return results;
+   }
+
+   /*
+    * multiplyTransposed returns W^T y for each given destination vector y, where W is a dense weight layer.
+    */
+   static double[][] multiplyTransposed(double dense[], int sources, int destinations, double vectors[][])
+   {
+      double results[][] = new double[vectors.length][sources];
+
+      for (int j = 0; j < destinations; j++)                           // Each row of W is read once
+      {
+         for (int c = 0; c < vectors.length; c++)
+         {
+            double scale = vectors[c][j];
+            for (int i = 0; i < sources; i++)
+               results[c][i] += dense[j * sources + i] * scale;
+         }
+      }
+
+      return results;
+   }
+
+   /*
+    * orthonormalize makes the given vectors orthonormal in place with modified Gram-Schmidt. Vectors that are
+    * linearly dependent on earlier ones become 0.
+    */
+   static void orthonormalize(double vectors[][])
+   {
+      for (int c = 0; c < vectors.length; c++)
+      {
+         for (int d = 0; d < c; d++)                                   // Remove the earlier vectors' components
+         {
+            double dot = 0.0;
+            for (int k = 0; k < vectors[c].length; k++)
+               dot += vectors[c][k] * vectors[d][k];
+            for (int k = 0; k < vectors[c].length; k++)
+               vectors[c][k] -= dot * vectors[d][k];
+         }
+
+         double norm = 0.0;
+         for (int k = 0; k < vectors[c].length; k++)
+            norm += vectors[c][k] * vectors[c][k];
+         norm = Math.sqrt(norm);
+
+         for (int k = 0; k < vectors[c].length; k++)
+            vectors[c][k] = (norm > 1e-12) ? vectors[c][k] / norm : 0.0;
+      }  // for (int c = 0; c < vectors.length; c++)
+
+      return;
+   }  // static void orthonormalize(double vectors[][])
+
+   /*
+    * eigen returns the eigenvalues of a given small symmetric matrix, which is overwritten, and fills a given matrix
+    * with the matching eigenvectors as columns. Cyclic Jacobi rotations zero the off-diagonal entries until they
+    * are negligible.
+    */
+   static double[] eigen(double matrix[][], double vectors[][])
+   {
+      int size = matrix.length;
+
+      for (int r = 0; r < size; r++)
+      {
+         Arrays.fill(vectors[r], 0.0);
+         vectors[r][r] = 1.0;
+      }
+
+      for (int sweep = 0; sweep < 100; sweep++)
+      {
+         double offDiagonal = 0.0;
+         for (int p = 0; p < size; p++)
+            for (int r = p + 1; r < size; r++)
+               offDiagonal += matrix[p][r] * matrix[p][r];
+         if (offDiagonal < 1e-30)
+            break;
+
+         for (int p = 0; p < size; p++)
+         {
+            for (int r = p + 1; r < size; r++)
+            {
+               if (matrix[p][r] == 0.0)
+                  continue;
+
+               double theta = (matrix[r][r] - matrix[p][p]) / (2.0 * matrix[p][r]);
+               double t = Math.signum(theta) / (Math.abs(theta) + Math.sqrt(theta * theta + 1.0));
+               if (theta == 0.0)
+                  t = 1.0;
+               double cos = 1.0 / Math.sqrt(t * t + 1.0);
+               double sin = t * cos;
+
+               for (int k = 0; k < size; k++)                          // Rotate columns p and r
+               {
+                  double kp = matrix[k][p];
+                  double kr = matrix[k][r];
+                  matrix[k][p] = cos * kp - sin * kr;
+                  matrix[k][r] = sin * kp + cos * kr;
+               }
+               for (int k = 0; k < size; k++)                          // Rotate rows p and r
+               {
+                  double pk = matrix[p][k];
+                  double rk = matrix[r][k];
+                  matrix[p][k] = cos * pk - sin * rk;
+                  matrix[r][k] = sin * pk + cos * rk;
+               }
+               for (int k = 0; k < size; k++)                          // Accumulate the eigenvectors
+               {
+                  double kp = vectors[k][p];
+                  double kr = vectors[k][r];
+                  vectors[k][p] = cos * kp - sin * kr;
+                  vectors[k][r] = sin * kp + cos * kr;
+               }
+            }  // for (int r = p + 1; r < size; r++)
+         }  // for (int p = 0; p < size; p++)
+      }  // for (int sweep = 0; sweep < 100; sweep++)
+
+      double values[] = new double[size];
+      for (int p = 0; p < size; p++)
+         values[p] = matrix[p][p];
+
+      return values;
+   }  // static double[] eigen(double matrix[][], double vectors[][])
+}  // public class LowRank
@@ -5,7 +5,8 @@
  * a perceptron with randomized weights. Takes console inputs specifying a training set. Then runs and prints the results of 
  * the model on the training set. It then takes inputs specifying training parameters and trains the model accordingly. 
  * When training is completed, it runs the model on the training set and prints the result. The resulting model is written 
- * to a specified file.
+ * to a specified file. An optimizer may be named as the first command line argument, as in java Main adam; without 
+ * one, each training case steps as Network.step does, and the console inputs are the same either way.
  */
 
 import java.util.*;
@@ -32,6 +33,7 @@ public class Main
       double trainingFactorLimit;            // The minimum training factor (lambda) for training to run
       int updatePeriod;                      // The period of steps at which progress will be reported
       int savePeriod;                        // The period of steps at which the network saved
+      String optimizerName;                  // The optimizer's name from the command line, or none to step as Network.step does
 
       Scanner in = new Scanner(System.in);   // Create scanner to take input from console
 
@@ -132,6 +134,10 @@ public class Main
       System.out.println("Training Save Period: ");
       savePeriod = in.nextInt();
 
+      optimizerName = (args.length > 0) ? args[0] : "none";     // Not read from the console, so inputs stay the same
+      if (!optimizerName.equals("none"))
+         trainer.setOptimizer(Optimizer.forName(optimizerName));
+
       // Train the network with the given parameters
       trainer.train(trainingFactor, adaptiveConstant, stepLimit, errorLimit, trainingFactorLimit, updatePeriod, savePeriod);
 
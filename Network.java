@@ -11,26 +11,73 @@
  * Network                 |  A constructor for creating a Network with randomized weights.
  * Network                 |  A constructor for loading a Network from a file.
  * exportNet               |  Exports the Network to a specified file.
+ * readOptions             |  Reads the optional keyword lines of a network file.
+ * writeOptions            |  Writes the optional keyword lines of a network file.
  * calcMaxNodes            |  Calculates the most nodes a layer has.
+ * initActivations         |  Sets every layer's threshold function to the sigmoid.
  * initRandomizedWeights   |  Randomly initializes the weights matrix, given bounds.
- * initActivationVals      |  Creates the activations matrix.
- * loadInputs              |  Loads a given array of inputs into the input activations.
+ * randomize               |  Fills one weight layer with random values from the seed, in parallel.
+ * initActivationVals      |  Creates the network's own evaluation context.
+ * newContext              |  Creates an evaluation context for evaluating the network from another thread.
+ * loadInputs              |  Loads a given array of inputs into the input activations, listing non-zero inputs if sparse.
+ * loadBits                |  Loads a given bitset of binary inputs into the input activations.
  * thresholdF              |  The threshold function applied to a node's input values.
- * dThresholdF             |  The derivative of the threshold function.
+ * dThresholdF             |  The derivative of the threshold function, given the node's activation value.
  * dotProduct              |  Calculates the dot product for node (n, i)'s input values.
+ * sparseProduct           |  Calculates the dot product for node (1, i) over only the non-zero inputs.
+ * forward                 |  Calculates every node's activation value, given an array of inputs.
+ * forwardLayers           |  Calculates every node's activation value from the loaded inputs.
+ * forwardNodes            |  Calculates the activation values of a range of nodes in one layer.
+ * forwardParallel         |  Calculates the activation values of one layer, split across the fork-join pool.
+ * isParallel              |  Returns whether a layer is wide enough to be worked on in parallel.
+ * connections             |  Returns the number of multiply-adds evaluating one weight layer takes.
  * eval                    |  Evaluates the network, given an array of inputs.
+ * eval                    |  Evaluates the network into a given output array, given an array of inputs.
+ * eval                    |  Evaluates the network into a given output array using a given evaluation context.
  * eval                    |  Evaluates the network, given an image file name.
+ * evalBits                |  Evaluates the network into a given output array, given a bitset of binary inputs.
+ * evalBatch               |  Evaluates the network for a block of input arrays at once.
+ * evalBatch               |  Evaluates the network for a block of input arrays into given output arrays.
+ * evalBatch               |  Evaluates the network for a block of input arrays using a given evaluation context.
+ * evalBatch               |  Evaluates the network for a range of a block of input arrays using a given evaluation context.
+ * batchProduct            |  Calculates the dot products of one layer for a block of samples.
  * step                    |  Trains the network using steepest descent, given a training case.
+ * step                    |  Trains the network using steepest descent, given a training case and evaluation context.
+ * stepBits                |  Trains the network using steepest descent, given a training case with binary inputs.
+ * backprop                |  Updates every weight layer from the current evaluation, given the expected outputs.
+ * backpropLayer           |  Updates one weight layer and passes omega back, in parallel for wide layers.
+ * backpropNodes           |  Updates the weights feeding a range of destination nodes.
+ * psi                     |  Calculates psi for a destination node of a weight layer.
+ * gradient                |  Adds the error gradient of a training case to a given gradient, leaving the weights unchanged.
+ * gradientBits            |  Adds the error gradient of a training case with binary inputs to a given gradient.
+ * accumulateGradient      |  Adds the error gradient of the current evaluation to a given gradient.
+ * newGradient             |  Creates a zeroed gradient laid out as the weights are.
  * setWeights              |  Sets the weights to a given matrix.
+ * setActivation           |  Sets the threshold function of a layer.
+ * setFastSigmoid          |  Switches every sigmoid layer between the exact and the tabulated sigmoid.
+ * setParallel             |  Turns parallel evaluation of wide layers on or off.
+ * setSparseInputs         |  Turns detection of mostly zero inputs on or off.
+ * prune                   |  Removes the weights of a layer smaller in magnitude than a given threshold.
+ * pruneToSparsity         |  Removes a given share of the smallest weights of a layer.
+ * denseWeights            |  Returns a dense copy of a weight layer, with pruned weights 0.
+ * nodeContributions       |  Measures how much each node of a hidden layer feeds the next layer over a data set.
+ * removeNodes             |  Removes nodes from a hidden layer along with the weights into and out of them.
+ * factorLayer             |  Replaces a weight layer with two thin layers through a new linear layer of low rank.
+ * setConvolution          |  Makes a weight layer a convolution over image channels.
+ * setPooling              |  Makes a weight layer max pooling over image channels.
+ * multiplyAdds            |  Returns the number of multiply-adds one evaluation takes.
  */
 
 import java.util.*;
+import java.util.stream.*;
 import java.io.*;
 
 /*
- * The Network class defines a feed-forward multi-layer neural network and provides methods to evaluate it.
+ * The Network class defines a feed-forward multi-layer neural network and provides methods to evaluate it. The 
+ * values calculated while evaluating live in an EvalContext, so the weights are never written by evaluation and one 
+ * Network can be evaluated by many threads at once, each with its own context from newContext.
  */
-public class Network 
+public class Network implements Evaluator
 {
    int layers;                // The total number of layers
    int nodesInLayer[];        // The number of nodes for [layer]
@@ -41,15 +88,46 @@ public class Network
    int outputs;               // The number of output nodes
    int outputIndex;           // The index of the output layer
 
-   double weights[][][];      // Weight in model for [layer][leftNode][rightNode]
-   double dotVals[][];        // Dot product values in model for [layer][node]
-   double activationVals[][]; // Activation value in model for [layer][node]
+   double weights[][];        // Weight in model for [layer][rightNode * nodesInLayer[layer] + leftNode]
+   Activation activations[];  // The threshold function of the nodes in [layer], unused for the input layer
+   Layer structure[];         // How weight [layer] joins its nodes, null for fully connected layers
+   EvalContext context;       // Dot products, activations and omegas used when no other context is given
+
+   static final int BATCH_SIZE = 16;   // The number of samples evalBatch pushes through each layer together
+   static final int BATCH_TILE = 512;  // The number of source nodes whose weights are reused per batch sweep
+
+   static final Kernels kernels = Kernels.select();   // The dot product and weight update loops, SIMD when available
+
+   // The fewest weights a layer must have before it is split across threads, so small nets stay serial
+   static final int PARALLEL_THRESHOLD = 1 << 16;
+   static final int PARALLEL_CHUNKS = 4 * Runtime.getRuntime().availableProcessors();  // Pieces a parallel layer is split into
+   boolean parallel;                   // Whether layers of at least PARALLEL_THRESHOLD weights are split across threads
+
+   static final int INIT_BLOCK = 1 << 16;      // The number of weights each generator of initRandomizedWeights fills
+   long seed;                          // The seed the weights were randomized from, if seedKnown
+   boolean seedKnown;                  // Whether the seed is known, as it is not for files saved without one
+
+   static final double SPARSE_DENSITY = 0.25;  // The largest share of non-zero inputs the first layer skips zeros at
+   boolean sparseInputs;               // Whether loadInputs lists non-zero inputs so the first layer can skip zeros
 
    /*
     * The Network constructor creates a new Network with randomized weights, given the number of input nodes, 
-    * nodes in each hidden layer, output nodes, and the bounds of randomization.
+    * nodes in each hidden layer, output nodes, and the bounds of randomization. The seed is picked at random and 
+    * saved with the network, so the same weights can be made again with the seeded constructor.
     */
    public Network(int inputNodes, int hiddenLayerNodes[], int outputNodes, double minWeight, double maxWeight)
+   {
+      this(inputNodes, hiddenLayerNodes, outputNodes, minWeight, maxWeight, new Random().nextLong());
+      return;
+   }
+
+   /*
+    * The Network constructor creates a new Network with weights randomized from a given seed, given the number of 
+    * input nodes, nodes in each hidden layer, output nodes, and the bounds of randomization. The same seed always 
+    * gives the same weights, however many threads fill them.
+    */
+   public Network(int inputNodes, int hiddenLayerNodes[], int outputNodes, double minWeight, double maxWeight, 
+                  long randomSeed)
    { 
       layers = hiddenLayerNodes.length + 2;           // Total layers is hidden layers + input + output layers
 
@@ -65,14 +143,19 @@ public class Network
       nodesInLayer[outputIndex] = outputs;
 
       calcMaxNodes();                                 // Calculates the maximum nodes in each layer
+      initActivations();                              // Every layer starts with the sigmoid threshold function
+      structure = new Layer[layers - 1];              // Every weight layer starts fully connected
+      seed = randomSeed;
+      seedKnown = true;
       initRandomizedWeights(minWeight, maxWeight);    // Initialize weights matrix
       initActivationVals();                           // Initialize activation matrix
 
       return;
-   }  // public Network(int inputNodes, int hiddenLayerNodes[], int outputNodes, double minWeight, double maxWeight)
+   }  // public Network(int inputNodes, int hiddenLayerNodes[], int outputNodes, double minWeight, double maxWeight, long randomSeed)
    
    /*
-    * The Network constructor loads a Network from a file describing its structure.
+    * The Network constructor loads a Network from a file describing its structure. Files without an activations 
+    * line use the sigmoid for every layer.
     */
    public Network(File file)
    {
@@ -92,15 +175,25 @@ public class Network
          outputs = nodesInLayer[outputIndex];                     // Get nodes in output layer
 
          calcMaxNodes();                                          // Calculates the maximum nodes in each layer
+         initActivations();
+         structure = new Layer[layers - 1];
+         readOptions(scanner);                                    // Parse the keyword lines before the weights
 
-         weights = new double[layers - 1][maxNodes][maxNodes];    // Initialize weights matrix
+         weights = new double[layers - 1][];                      // Initialize weights matrix
          for (int layer = 0; layer < layers - 1; layer++)
          {
+            if (structure[layer] != null)                         // Other layers list their weights their own way
+            {
+               weights[layer] = structure[layer].readWeights(scanner);
+               continue;
+            }
+
+            weights[layer] = new double[nodesInLayer[layer] * nodesInLayer[layer + 1]];
             for (int i = 0; i < nodesInLayer[layer]; i++)
             {
                for (int j = 0; j < nodesInLayer[layer + 1]; j++)
                {
-                  weights[layer][i][j] = scanner.nextDouble();
+                  weights[layer][j * nodesInLayer[layer] + i] = scanner.nextDouble();
                }
             }
          }
@@ -118,7 +211,7 @@ public class Network
    
    /*
     * exportNet writes the fundamental structure of the network to a provided file name. This includes the number 
-    * of layers, nodes in each layer and weights.
+    * of layers, nodes in each layer, the keyword lines written by writeOptions and weights.
     */
     public void exportNet(String fileName)
     {
@@ -132,15 +225,22 @@ public class Network
          for (int i = 0; i < layers; i++)                                        // Print nodes per layer
             writer.append(String.format("%d ", nodesInLayer[i]));
          writer.append("\n");
+         writeOptions(writer);                                                   // Print keyword lines
 
          for (int layer = 0; layer < layers - 1; layer++)                        // Print all weights
          {
             writer.append("\n");
+            if (structure[layer] != null)                                        // Other layers print their weights their own way
+            {
+               structure[layer].writeWeights(writer, weights[layer]);
+               continue;
+            }
+
             for (int i = 0; i < nodesInLayer[layer]; i++)                        // Prints weights connecting layer m to m + 1
             {
                for (int j = 0; j < nodesInLayer[layer + 1]; j++)
                {
-                  writer.append(String.format("%.15f ", weights[layer][i][j]));
+                  writer.append(String.format("%.15f ", weights[layer][j * nodesInLayer[layer] + i]));
                }
                writer.append("\n");
             }
@@ -156,6 +256,83 @@ public class Network
       return;
     } // public void exportNet(String fileName)
 
+   /*
+    * readOptions reads the keyword lines that may follow the nodes per layer in a network file, stopping at the 
+    * first weight. The keywords are:
+    * 
+    * activations NAME ...    The name of the threshold function of each layer after the input layer
+    * float                   Marks a file saved by FloatNetwork, which needs nothing further
+    * seed SEED               The seed the network's weights were randomized from
+    * sparse LAYER            Marks weight layer LAYER as pruned, with its weights listed as in SparseLayer
+    * conv LAYER C H W K      Marks weight layer LAYER as a convolution of K x K filters over C channels of H x W pels
+    * pool LAYER C H W S      Marks weight layer LAYER as max pooling of S x S blocks over C channels of H x W pels
+    */
+   private void readOptions(Scanner scanner)
+   {
+      while (scanner.hasNext() && !scanner.hasNextDouble())
+      {
+         String keyword = scanner.next();
+
+         if (keyword.equals("activations"))
+         {
+            for (int layer = 1; layer < layers; layer++)
+               activations[layer] = Activation.forName(scanner.next());
+         }
+         else if (keyword.equals("seed"))
+         {
+            seed = scanner.nextLong();
+            seedKnown = true;
+         }
+         else if (keyword.equals("sparse"))                                 // Rows are filled in with the weights
+         {
+            int layer = scanner.nextInt();
+            structure[layer] = new SparseLayer(nodesInLayer[layer], nodesInLayer[layer + 1]);
+         }
+         else if (keyword.equals("conv"))
+         {
+            int layer = scanner.nextInt();
+            int channels = scanner.nextInt(), height = scanner.nextInt(), width = scanner.nextInt();
+            int kernel = scanner.nextInt();
+            int filters = nodesInLayer[layer + 1] / ((height - kernel + 1) * (width - kernel + 1));
+            structure[layer] = new ConvLayer(channels, height, width, kernel, filters);
+         }
+         else if (keyword.equals("pool"))
+         {
+            int layer = scanner.nextInt();
+            int channels = scanner.nextInt(), height = scanner.nextInt(), width = scanner.nextInt();
+            structure[layer] = new PoolLayer(channels, height, width, scanner.nextInt());
+         }
+         else if (!keyword.equals("float"))
+         {
+            throw new IllegalArgumentException(String.format("Unknown network file keyword %s", keyword));
+         }
+      }  // while (scanner.hasNext() && !scanner.hasNextDouble())
+
+      return;
+   }  // private void readOptions(Scanner scanner)
+
+   /*
+    * writeOptions writes the keyword lines that readOptions reads back. The seed line is left out when the seed is 
+    * unknown, as it is for networks loaded from files without one.
+    */
+   private void writeOptions(BufferedWriter writer) throws IOException
+   {
+      writer.append("activations");                                           // Print each layer's threshold function
+      for (int layer = 1; layer < layers; layer++)
+         writer.append(String.format(" %s", activations[layer].name()));
+      writer.append("\n");
+      if (seedKnown)                                                          // Print the seed the weights started from,
+         writer.append(String.format("seed %d\n", seed));                    // if it is known
+
+      for (int layer = 0; layer < layers - 1; layer++)                        // Describe each layer not fully connected
+      {
+         if (structure[layer] != null)
+            writer.append(String.format("%s\n", structure[layer].options(layer)));
+      }
+
+      return;
+   }  // private void writeOptions(BufferedWriter writer) throws IOException
+
    /*
     * calcMaxNodes calculates the maximum number of nodes in any layer and updates the related instance variable.
     */
@@ -169,94 +346,287 @@ public class Network
    }
 
    /*
-    * initRandomizedWeights creates a new weight matrix and fills in randomized weight values, given a range.
+    * initActivations sets the threshold function of every layer after the input layer to the sigmoid.
+    */
+   private void initActivations()
+   {
+      activations = new Activation[layers];
+      for (int layer = 1; layer < layers; layer++)
+         activations[layer] = Activation.SIGMOID;
+      return;
+   }
+
+   /*
+    * initRandomizedWeights creates a new weight matrix and fills in randomized weight values from the network's 
+    * seed, given a range. Each weight layer is a single array sized exactly to the layers it connects, stored 
+    * destination node major so that the weights feeding one node are contiguous.
     */
    private void initRandomizedWeights(double minWeight, double maxWeight)
    {
-      weights = new double[layers - 1][maxNodes][maxNodes];
+      weights = new double[layers - 1][];
 
-      Random random = new Random();                            // initialize all weights as random
       for (int layer = 0; layer < layers - 1; layer++)
       {
-         for (int i = 0; i < nodesInLayer[layer]; i++)
-         {
-            for (int j = 0; j < nodesInLayer[layer + 1]; j++)
-            {
-               weights[layer][i][j] = minWeight + (maxWeight - minWeight) * random.nextDouble();
-            }
-         }
+         weights[layer] = new double[nodesInLayer[layer] * nodesInLayer[layer + 1]];
+         randomize(layer, minWeight, maxWeight);
       }
 
       return;
-   }  // private void initRandomizedWeights(double minWeight, double maxWeight)
+   }
 
    /*
-    * initActivationVals creates a new activation values matrix.
+    * randomize fills weight layer m with values uniformly distributed in a given range. The layer's generator is 
+    * seeded from the network's seed and m, and split into one generator per INIT_BLOCK weights in order before any 
+    * are used, so the blocks can be filled in parallel while every weight depends only on the seed.
+    */
+   private void randomize(int m, double minWeight, double maxWeight)
+   {
+      double layerWeights[] = weights[m];
+      int blocks = (layerWeights.length + INIT_BLOCK - 1) / INIT_BLOCK;
+      SplittableRandom layerRandom = new SplittableRandom(seed + m);
+      SplittableRandom blockRandoms[] = new SplittableRandom[blocks];
+
+      for (int block = 0; block < blocks; block++)
+         blockRandoms[block] = layerRandom.split();
+
+      IntStream.range(0, blocks).parallel().forEach(block -> 
+      {
+         for (int w = block * INIT_BLOCK; w < Math.min((block + 1) * INIT_BLOCK, layerWeights.length); w++)
+            layerWeights[w] = minWeight + (maxWeight - minWeight) * blockRandoms[block].nextDouble();
+      });
+
+      return;
+   }  // private void randomize(int m, double minWeight, double maxWeight)
+
+   /*
+    * initActivationVals creates the network's own EvalContext, whose dot product, activation values and omega matrices 
+    * are reused by every eval and step that is not given a context, so serial evaluating and training allocate 
+    * nothing. Parallel layers allocate the streams that hand their nodes to other threads.
     */
    private void initActivationVals()
    {
-      dotVals = new double[layers][maxNodes];
-      activationVals = new double[layers][maxNodes];
+      context = new EvalContext(nodesInLayer);
       return;
    }
 
    /*
-    * loadInputs initializes the input nodes' activation values, given an input array.
+    * newContext creates the scratch values needed to evaluate this network. Each thread that evaluates the network 
+    * concurrently needs its own context; the weights themselves are shared.
     */
-   private void loadInputs(double inputArray[])
+   public EvalContext newContext()
    {
-      for (int i = 0; i < inputs; i++)
-         activationVals[inputIndex][i] = inputArray[i];
-      return;
+      return new EvalContext(nodesInLayer);
    }
 
    /*
-    * thresholdF returns the result of the threshold function used to determine a node's activation state. 
+    * loadInputs initializes the input nodes' activation values in a given context, given an input array. With sparse 
+    * input detection on, it also lists the non-zero inputs and marks the context sparse if few enough are non-zero.
     */
-   private double thresholdF(double x)
+   private void loadInputs(double inputArray[], EvalContext ctx)
    {
-      return 1.0 / (1.0 + Math.exp(-x));
+      if (!sparseInputs)
+      {
+         for (int i = 0; i < inputs; i++)
+            ctx.activationVals[inputIndex][i] = inputArray[i];
+         ctx.sparseInputs = false;
+         return;
+      }
+
+      ctx.activeCount = 0;
+      for (int i = 0; i < inputs; i++)                  // Copy the inputs, listing the non-zero ones
+      {
+         ctx.activationVals[inputIndex][i] = inputArray[i];
+         if (inputArray[i] != 0.0)
+            ctx.activeInputs[ctx.activeCount++] = i;
+      }
+      ctx.sparseInputs = ctx.activeCount <= SPARSE_DENSITY * inputs;   // Dense inputs use the full kernels
+
+      return;
+   }  // private void loadInputs(double inputArray[], EvalContext ctx)
+
+   /*
+    * loadBits initializes the input nodes' activation values in a given context to 1 for each set bit of a given 
+    * bitset and 0 otherwise, where input i is bit i % 64 of bits[i / 64]. The indices of the set bits are listed in 
+    * the context so that the first layer only visits those inputs.
+    */
+   private void loadBits(long bits[], EvalContext ctx)
+   {
+      Arrays.fill(ctx.activationVals[inputIndex], 0.0);
+      ctx.activeCount = 0;
+
+      for (int word = 0; word < bits.length; word++)
+      {
+         long remaining = bits[word];
+         while (remaining != 0)                                 // Visit each set bit, lowest first
+         {
+            int i = word * 64 + Long.numberOfTrailingZeros(remaining);
+            ctx.activationVals[inputIndex][i] = 1.0;
+            ctx.activeInputs[ctx.activeCount++] = i;
+            remaining &= remaining - 1;                         // Clear the lowest set bit
+         }
+      }
+
+      ctx.sparseInputs = true;
+      return;
+   }  // private void loadBits(long bits[], EvalContext ctx)
+
+   /*
+    * thresholdF returns the result of the threshold function used to determine the activation state of a node in 
+    * layer n, given the node's dot product.
+    */
+   private double thresholdF(int n, double x)
+   {
+      return activations[n].apply(x);
    }
 
    /*
-    * dThresholdF returns the derivative of the function thresholdF
+    * dThresholdF returns the derivative of the function thresholdF for a node in layer n, given the node's activation 
+    * value, so no exponential is evaluated when training.
     */
-   private double dThresholdF(double x)
+   private double dThresholdF(int n, double activation)
    {
-      return thresholdF(x) * (1.0 - thresholdF(x));
+      return activations[n].derivative(activation);
    }
    
    /*
-    * dotProduct calculates the dot product of node (n, i)'s input activation values and weights, given n and i.
+    * dotProduct calculates the dot product of node (n, i)'s input activation values and weights, given n, i and 
+    * the context holding the activations.
+    */
+   private double dotProduct(int n, int i, EvalContext ctx)
+   {
+      int offset = i * nodesInLayer[n - 1];              // Weights feeding node (n, i) are contiguous from this index
+
+      if (structure[n - 1] != null)                      // Other layers visit only the weights they connect
+         return structure[n - 1].dot(weights[n - 1], i, ctx.activationVals[n - 1]);
+      if (n == 1 && ctx.sparseInputs)
+         return sparseProduct(offset, ctx);
+
+      // Calculates dot product of activationVals[n-1][] and weights[m][][i]
+      return kernels.dot(ctx.activationVals[n - 1], weights[n - 1], offset, nodesInLayer[n - 1]);
+   }
+
+   /*
+    * sparseProduct calculates the dot product of a first hidden layer node's input activation values and weights over 
+    * only the inputs listed in a given context, given the offset of the node's weights. Skipped inputs are zero, so 
+    * the result equals the full dot product.
     */
-   private double dotProduct(int n, int i)
+   private double sparseProduct(int offset, EvalContext ctx)
    {
       double dotProduct = 0.0;
+      double inputVals[] = ctx.activationVals[inputIndex];
+      double layerWeights[] = weights[0];
 
-      for (int j = 0; j < nodesInLayer[n - 1]; j++)       // Calculates dot product of activationVals[n-1][] and weights[m][][i]
-         dotProduct += activationVals[n - 1][j] * weights[n - 1][j][i];
+      for (int k = 0; k < ctx.activeCount; k++)
+         dotProduct += inputVals[ctx.activeInputs[k]] * layerWeights[offset + ctx.activeInputs[k]];
 
       return dotProduct;
    }
 
    /*
-    * eval evaluates and returns the output of the network, given an array of inputs.
+    * forward calculates the dot product and activation value of every node in a given context, given an array of 
+    * inputs. The outputs are left in the context's activationVals[outputIndex].
     */
-   public double[] eval(double inputArray[])
+   private void forward(double inputArray[], EvalContext ctx)
    {
-      loadInputs(inputArray);
+      loadInputs(inputArray, ctx);
+      forwardLayers(ctx);
+      return;
+   }
 
+   /*
+    * forwardLayers calculates the dot product and activation value of every node after the input layer in a given 
+    * context, whose input activations are already loaded.
+    */
+   private void forwardLayers(EvalContext ctx)
+   {
       for (int layer = 1; layer <= outputIndex; layer++)
       {
-         for (int i = 0; i < nodesInLayer[layer]; i++)
-         {
-            dotVals[layer][i] = dotProduct(layer, i);
-            activationVals[layer][i] = thresholdF(dotVals[layer][i]);         // Calculate activation value
-         }
+         if (isParallel(layer))
+            forwardParallel(layer, ctx);
+         else
+            forwardNodes(layer, 0, nodesInLayer[layer], ctx);
       }
       
-      return Arrays.copyOfRange(activationVals[outputIndex], 0, outputs);     // Return output values
-   }  // public double[] eval(double inputArray[])
+      return;
+   }  // private void forwardLayers(EvalContext ctx)
+
+   /*
+    * forwardNodes calculates the dot product and activation value of nodes first through last - 1 of layer n in a 
+    * given context.
+    */
+   private void forwardNodes(int n, int first, int last, EvalContext ctx)
+   {
+      for (int i = first; i < last; i++)
+      {
+         ctx.dotVals[n][i] = dotProduct(n, i, ctx);
+         ctx.activationVals[n][i] = thresholdF(n, ctx.dotVals[n][i]);         // Calculate activation value
+      }
+
+      return;
+   }
+
+   /*
+    * forwardParallel calculates the dot products and activation values of layer n in a given context, splitting 
+    * the layer's nodes into PARALLEL_CHUNKS ranges that the common fork-join pool works on at the same time. Each 
+    * range writes only its own nodes, and all of them finish before the next layer starts.
+    */
+   private void forwardParallel(int n, EvalContext ctx)
+   {
+      int chunks = Math.min(PARALLEL_CHUNKS, nodesInLayer[n]);
+
+      IntStream.range(0, chunks).parallel().forEach(chunk -> 
+         forwardNodes(n, nodesInLayer[n] * chunk / chunks, nodesInLayer[n] * (chunk + 1) / chunks, ctx));
+
+      return;
+   }
+
+   /*
+    * isParallel returns whether parallel mode is on and evaluating the weight layer feeding layer n takes at least 
+    * PARALLEL_THRESHOLD multiply-adds, making it worth splitting across threads.
+    */
+   private boolean isParallel(int n)
+   {
+      return parallel && (connections(n - 1) >= PARALLEL_THRESHOLD);
+   }
+
+   /*
+    * connections returns the number of multiply-adds evaluating weight layer m takes, which for a fully connected 
+    * layer is its number of weights.
+    */
+   private long connections(int m)
+   {
+      if (structure[m] != null)
+         return structure[m].connections();
+      return (long) nodesInLayer[m] * nodesInLayer[m + 1];
+   }
+
+   /*
+    * eval evaluates and returns the output of the network in a new array, given an array of inputs.
+    */
+   public double[] eval(double inputArray[])
+   {
+      return eval(inputArray, new double[outputs]);
+   }
+
+   /*
+    * eval evaluates the network, given an array of inputs, and copies its outputs into a given array, which is 
+    * returned. Nothing is allocated unless layers run in parallel, so this is the form to call in a loop.
+    */
+   public double[] eval(double inputArray[], double outputArray[])
+   {
+      return eval(inputArray, outputArray, context);
+   }
+
+   /*
+    * eval evaluates the network using a given context, given an array of inputs, and copies its outputs into a given 
+    * array, which is returned. Only the context is written, so threads with separate contexts may call this at once.
+    */
+   public double[] eval(double inputArray[], double outputArray[], EvalContext ctx)
+   {
+      forward(inputArray, ctx);
+      System.arraycopy(ctx.activationVals[outputIndex], 0, outputArray, 0, outputs); // Copy output values
+      return outputArray;
+   }
    
    /*
     * eval evaluates and returns the output of the network, given an image file name, which provides an array of inputs.
@@ -269,61 +639,662 @@ public class Network
    } 
 
    /*
-    * step trains the network using steepest descent, given a training case.
+    * evalBits evaluates the network using a given context, given a bitset of binary inputs where input i is 1 when 
+    * bit i % 64 of bits[i / 64] is set, as returned by PelGetter.getBits, and copies its outputs into a given array, 
+    * which is returned. The first layer only sums the weights of set bits.
     */
-   public void step(double inputArray[], double expectedOutputs[], double lambda)
+   public double[] evalBits(long bits[], double outputArray[], EvalContext ctx)
    {
-      int layer;
-      double psi;
-      double omega[][] = new double[layers][maxNodes];
-      double results[] = eval(inputArray);
-      
-      // Evaluate and update last weight layer
-      layer = layers - 2;                                                              // layers - 2 gives the last weight layer
-      for (int j = 0; j < nodesInLayer[layer + 1]; j++)                                // Current weight's destination node
+      loadBits(bits, ctx);
+      forwardLayers(ctx);
+      System.arraycopy(ctx.activationVals[outputIndex], 0, outputArray, 0, outputs); // Copy output values
+      return outputArray;
+   }
+
+   /*
+    * evalBatch evaluates and returns the outputs of the network for every row of a given array of inputs. Samples 
+    * are pushed through each layer BATCH_SIZE at a time, so every weight loaded from memory is used for the whole 
+    * block instead of once per sample.
+    */
+   public double[][] evalBatch(double inputArrays[][])
+   {
+      return evalBatch(inputArrays, new double[inputArrays.length][outputs]);
+   }
+
+   /*
+    * evalBatch evaluates the network for every row of a given array of inputs and copies the outputs into the 
+    * matching rows of a given array, which is returned. After the first call nothing is allocated.
+    */
+   public double[][] evalBatch(double inputArrays[][], double results[][])
+   {
+      return evalBatch(inputArrays, results, context);
+   }
+
+   /*
+    * evalBatch evaluates the network for every row of a given array of inputs using a given context and copies the 
+    * outputs into the matching rows of a given array, which is returned.
+    */
+   public double[][] evalBatch(double inputArrays[][], double results[][], EvalContext ctx)
+   {
+      return evalBatch(inputArrays, results, 0, inputArrays.length, ctx);
+   }
+
+   /*
+    * evalBatch evaluates the network for rows first through last - 1 of a given array of inputs using a given 
+    * context and copies the outputs into the matching rows of a given array, which is returned. Threads with their 
+    * own contexts can evaluate different ranges of the same arrays at the same time.
+    */
+   public double[][] evalBatch(double inputArrays[][], double results[][], int firstRow, int lastRow, EvalContext ctx)
+   {
+      double batchVals[][][];
+
+      ctx.initBatchVals(nodesInLayer, BATCH_SIZE);                      // Create the batch activations on first use
+      batchVals = ctx.batchVals;
+
+      for (int first = firstRow; first < lastRow; first += BATCH_SIZE)
       {
-         psi = (results[j] - expectedOutputs[j]) * dThresholdF(dotVals[layer + 1][j]); // Calculate psi
-         for (int i = 0; i < nodesInLayer[layer]; i++)                                 // Current weight's source node
+         int samples = Math.min(BATCH_SIZE, lastRow - first);
+
+         for (int sample = 0; sample < samples; sample++)                // Load the block's inputs
+            System.arraycopy(inputArrays[first + sample], 0, batchVals[inputIndex][sample], 0, inputs);
+
+         for (int layer = 1; layer <= outputIndex; layer++)
          {
-            omega[layer][i] += psi * weights[layer][i][j];                             // Set omega for next round
-            weights[layer][i][j] -= lambda * activationVals[layer][i] * psi;           // Update weights
+            batchProduct(layer, samples, batchVals);
+            for (int sample = 0; sample < samples; sample++)
+               for (int i = 0; i < nodesInLayer[layer]; i++)
+                  batchVals[layer][sample][i] = thresholdF(layer, batchVals[layer][sample][i]);
          }
+
+         for (int sample = 0; sample < samples; sample++)                // Copy out the block's outputs
+            System.arraycopy(batchVals[outputIndex][sample], 0, results[first + sample], 0, outputs);
+      }  // for (int first = firstRow; first < lastRow; first += BATCH_SIZE)
+
+      return results;
+   }  // public double[][] evalBatch(double inputArrays[][], double results[][], int firstRow, int lastRow, EvalContext ctx)
+
+   /*
+    * batchProduct calculates the dot products of layer n for the first given number of samples in given batchVals. The 
+    * source nodes are split into tiles of BATCH_TILE so the tile of every sample's activations stays in cache while 
+    * each destination node's weights in the tile are swept once, four samples at a time.
+    */
+   private void batchProduct(int n, int samples, double batchVals[][][])
+   {
+      double layerWeights[] = weights[n - 1];
+      double source[][] = batchVals[n - 1];
+      double dest[][] = batchVals[n];
+      int sourceNodes = nodesInLayer[n - 1];
+
+      if (structure[n - 1] != null)                                     // Other layers go one sample at a time
+      {
+         for (int sample = 0; sample < samples; sample++)
+            for (int i = 0; i < nodesInLayer[n]; i++)
+               dest[sample][i] = structure[n - 1].dot(layerWeights, i, source[sample]);
+         return;
       }
-      
-      // Evaluate and update all middle weight layers
-      for (layer = layers - 3; layer >= 1; layer--)
+
+      for (int sample = 0; sample < samples; sample++)
+         Arrays.fill(dest[sample], 0.0);
+
+      for (int tile = 0; tile < sourceNodes; tile += BATCH_TILE)
       {
-         for (int j = 0; j < nodesInLayer[layer + 1]; j++)                             // Current weight's destination node
+         int tileEnd = Math.min(tile + BATCH_TILE, sourceNodes);
+
+         for (int i = 0; i < nodesInLayer[n]; i++)                      // Current destination node
          {
-            psi = omega[layer + 1][j] * dThresholdF(dotVals[layer + 1][j]);            // Calculate psi
-            for (int i = 0; i < nodesInLayer[layer]; i++)                              // Current weight's source node
+            int offset = i * sourceNodes;                               // Weights feeding node (n, i) start here
+            int sample = 0;
+
+            for (; sample + 3 < samples; sample += 4)                   // Four samples share each weight load
+            {
+               double a0[] = source[sample];
+               double a1[] = source[sample + 1];
+               double a2[] = source[sample + 2];
+               double a3[] = source[sample + 3];
+               double sum0 = 0.0, sum1 = 0.0, sum2 = 0.0, sum3 = 0.0;
+
+               for (int j = tile; j < tileEnd; j++)
+               {
+                  double weight = layerWeights[offset + j];
+                  sum0 += a0[j] * weight;
+                  sum1 += a1[j] * weight;
+                  sum2 += a2[j] * weight;
+                  sum3 += a3[j] * weight;
+               }
+
+               dest[sample][i] += sum0;
+               dest[sample + 1][i] += sum1;
+               dest[sample + 2][i] += sum2;
+               dest[sample + 3][i] += sum3;
+            }  // for (; sample + 3 < samples; sample += 4)
+
+            for (; sample < samples; sample++)                          // Remaining samples of the block
             {
-               omega[layer][i] += psi * weights[layer][i][j];                          // Set omega for next round
-               weights[layer][i][j] -= lambda * activationVals[layer][i] * psi;        // Update weights
+               double a[] = source[sample];
+               double sum = 0.0;
+
+               for (int j = tile; j < tileEnd; j++)
+                  sum += a[j] * layerWeights[offset + j];
+
+               dest[sample][i] += sum;
             }
-         }
-      }  // for (layer = layers - 3; layer >= 1; layer--)
+         }  // for (int i = 0; i < nodesInLayer[n]; i++)
+      }  // for (int tile = 0; tile < sourceNodes; tile += BATCH_TILE)
+
+      return;
+   }  // private void batchProduct(int n, int samples, double batchVals[][][])
 
-      // Update first weight layer
-      layer = 0;                                                                       // 0 is the first weight layer
-      for (int j = 0; j < nodesInLayer[layer + 1]; j++)                                // Current weight's destination node
+   /*
+    * step trains the network using steepest descent, given a training case. The loops over each destination node's 
+    * source nodes run in kernels, and omega reuses the network's own context, so a step allocates nothing unless 
+    * layers run in parallel. Run AllocationCheck to confirm it.
+    */
+   public void step(double inputArray[], double expectedOutputs[], double lambda)
+   {
+      step(inputArray, expectedOutputs, lambda, context);
+      return;
+   }
+
+   /*
+    * step trains the network using steepest descent, given a training case and the context to evaluate it in. Steps 
+    * write the weights, so they must not run at the same time as any other evaluation of the network.
+    */
+   public void step(double inputArray[], double expectedOutputs[], double lambda, EvalContext ctx)
+   {
+      forward(inputArray, ctx);
+      backprop(expectedOutputs, lambda, ctx);
+      return;
+   }
+
+   /*
+    * stepBits trains the network using steepest descent, given a training case whose inputs are a bitset as in 
+    * evalBits, and the context to evaluate it in. Only the first layer weights of set bits are read and updated.
+    */
+   public void stepBits(long bits[], double expectedOutputs[], double lambda, EvalContext ctx)
+   {
+      loadBits(bits, ctx);
+      forwardLayers(ctx);
+      backprop(expectedOutputs, lambda, ctx);
+      return;
+   }
+
+   /*
+    * backprop updates every weight layer using steepest descent from the evaluation held in a given context, given 
+    * the expected outputs and lambda.
+    */
+   private void backprop(double expectedOutputs[], double lambda, EvalContext ctx)
+   {
+      for (int layer = 1; layer < outputIndex; layer++)                                // Clear omega of the hidden layers
+         Arrays.fill(ctx.omega[layer], 0.0);
+      
+      // Evaluate and update last weight layer, where layers - 2 gives the last weight layer
+      backpropLayer(layers - 2, expectedOutputs, lambda, true, ctx);
+      
+      // Evaluate and update all middle weight layers
+      for (int layer = layers - 3; layer >= 1; layer--)
+         backpropLayer(layer, null, lambda, true, ctx);
+
+      // Update first weight layer, which passes no omega back to the inputs
+      backpropLayer(0, null, lambda, false, ctx);
+
+      return;
+   }  // private void backprop(double expectedOutputs[], double lambda, EvalContext ctx)
+
+   /*
+    * backpropLayer updates weight layer m of the network using steepest descent, given the expected outputs when m 
+    * is the last weight layer (null otherwise), lambda, whether to pass omega back to layer m, and the context 
+    * holding the current evaluation. Wide layers in parallel mode are split by destination node across the 
+    * fork-join pool, with each piece summing its share of omega in its own array before the pieces are added up. 
+    * Layers whose destination nodes share weights, such as convolutions, are always updated serially, and their 
+    * omega is taken from every destination node, with lambda 0, before any of their weights are updated, so that 
+    * no node's omega sees weights already updated by another.
+    */
+   private void backpropLayer(int m, double expectedOutputs[], double lambda, boolean passOmega, EvalContext ctx)
+   {
+      if (structure[m] != null && structure[m].sharesWeights())
+      {
+         if (passOmega)                                                  // Omega from the weights before this step
+            backpropNodes(m, 0, nodesInLayer[m + 1], expectedOutputs, 0.0, ctx.omega[m], ctx);
+         backpropNodes(m, 0, nodesInLayer[m + 1], expectedOutputs, lambda, null, ctx);
+         return;
+      }
+
+      if (!isParallel(m + 1))
+      {
+         backpropNodes(m, 0, nodesInLayer[m + 1], expectedOutputs, lambda, passOmega ? ctx.omega[m] : null, ctx);
+         return;
+      }
+
+      int chunks = Math.min(PARALLEL_CHUNKS, nodesInLayer[m + 1]);
+      int nodes = nodesInLayer[m + 1];
+
+      if (!passOmega)
       {
-         psi = omega[layer + 1][j] * dThresholdF(dotVals[layer + 1][j]);               // Calculate psi
-         for (int i = 0; i < nodesInLayer[layer]; i++)                                 // Current weight's source node
+         IntStream.range(0, chunks).parallel().forEach(chunk -> 
+            backpropNodes(m, nodes * chunk / chunks, nodes * (chunk + 1) / chunks, expectedOutputs, lambda, null, ctx));
+         return;
+      }
+
+      ctx.initPartialOmega(PARALLEL_CHUNKS, maxNodes);                   // Create the partial omegas on first use
+      IntStream.range(0, chunks).parallel().forEach(chunk -> 
+      {
+         Arrays.fill(ctx.partialOmega[chunk], 0, nodesInLayer[m], 0.0);
+         backpropNodes(m, nodes * chunk / chunks, nodes * (chunk + 1) / chunks, expectedOutputs, lambda, 
+                       ctx.partialOmega[chunk], ctx);
+      });
+
+      int sources = nodesInLayer[m];
+      int sourceChunks = Math.min(PARALLEL_CHUNKS, sources);
+      IntStream.range(0, sourceChunks).parallel().forEach(chunk ->      // Add up the partial omegas in chunk order
+      {
+         for (int i = sources * chunk / sourceChunks; i < sources * (chunk + 1) / sourceChunks; i++)
          {
-            weights[layer][i][j] -= lambda * activationVals[layer][i] * psi;           // Update weights
+            double sum = 0.0;
+            for (int piece = 0; piece < chunks; piece++)
+               sum += ctx.partialOmega[piece][i];
+            ctx.omega[m][i] = sum;
          }
+      });
+
+      return;
+   }  // private void backpropLayer(int m, double expectedOutputs[], double lambda, boolean passOmega, EvalContext ctx)
+
+   /*
+    * backpropNodes updates the weights of weight layer m that feed destination nodes first through last - 1. Psi 
+    * comes from the expected outputs if they are given, and from the omega of layer m + 1 otherwise. When 
+    * omegaOut is given, each weight's share of omega for layer m is added to it before the weight is updated.
+    */
+   private void backpropNodes(int m, int first, int last, double expectedOutputs[], double lambda, double omegaOut[], 
+                              EvalContext ctx)
+   {
+      double psi;
+      double layerWeights[] = weights[m];
+      int stride = nodesInLayer[m];
+
+      for (int j = first; j < last; j++)                                               // Current weight's destination node
+      {
+         psi = psi(m, j, expectedOutputs, ctx);
+
+         if (structure[m] != null && omegaOut != null)                                 // Other layers update their own weights
+            structure[m].backprop(omegaOut, layerWeights, j, ctx.activationVals[m], psi, lambda);
+         else if (structure[m] != null)
+            structure[m].update(layerWeights, j, ctx.activationVals[m], psi, lambda);
+         else if (omegaOut != null)     // Set omega for next round and update weights from every source node
+            kernels.backprop(omegaOut, layerWeights, j * stride, ctx.activationVals[m], psi, lambda, stride);
+         else if (m == 0 && ctx.sparseInputs)                                          // Update only non-zero inputs' weights
+            for (int k = 0; k < ctx.activeCount; k++)
+               layerWeights[j * stride + ctx.activeInputs[k]] -= lambda * ctx.activationVals[m][ctx.activeInputs[k]] * psi;
+         else                           // Update weights from every source node
+            kernels.update(layerWeights, j * stride, ctx.activationVals[m], psi, lambda, stride);
       }
 
       return;
-   }  // public void step(double inputArray[], double expectedOutputs[], double lambda)
+   }  // private void backpropNodes(int m, int first, int last, double expectedOutputs[], double lambda, double omegaOut[], EvalContext ctx)
+
+   /*
+    * psi returns psi for destination node j of weight layer m, from the expected outputs if they are given and from 
+    * the omega of layer m + 1 in a given context otherwise.
+    */
+   private double psi(int m, int j, double expectedOutputs[], EvalContext ctx)
+   {
+      if (expectedOutputs != null)
+         return (ctx.activationVals[m + 1][j] - expectedOutputs[j]) * dThresholdF(m + 1, ctx.activationVals[m + 1][j]);
+      return ctx.omega[m + 1][j] * dThresholdF(m + 1, ctx.activationVals[m + 1][j]);
+   }
+
+   /*
+    * gradient evaluates a training case in a given context and adds the gradient of its error with respect to each 
+    * weight to a given gradient from newGradient. The weights are only read, so gradients of many training cases can 
+    * be found at the same time, each with its own context and gradient, and then applied together.
+    */
+   public void gradient(double inputArray[], double expectedOutputs[], double gradient[][], EvalContext ctx)
+   {
+      forward(inputArray, ctx);
+      accumulateGradient(expectedOutputs, gradient, ctx);
+      return;
+   }
+
+   /*
+    * gradientBits adds the error gradient of a training case whose inputs are a bitset as in evalBits to a given 
+    * gradient, as gradient does. Only the first layer gradients of set bits are added to.
+    */
+   public void gradientBits(long bits[], double expectedOutputs[], double gradient[][], EvalContext ctx)
+   {
+      loadBits(bits, ctx);
+      forwardLayers(ctx);
+      accumulateGradient(expectedOutputs, gradient, ctx);
+      return;
+   }
+
+   /*
+    * accumulateGradient adds the error gradient of the evaluation held in a given context to a given gradient, 
+    * passing omega back through the unchanged weights. Each weight's gradient is its source activation times the 
+    * psi of its destination node, the amount step would subtract from it divided by lambda.
+    */
+   private void accumulateGradient(double expectedOutputs[], double gradient[][], EvalContext ctx)
+   {
+      double psi;
+
+      for (int layer = 1; layer < outputIndex; layer++)                                // Clear omega of the hidden layers
+         Arrays.fill(ctx.omega[layer], 0.0);
+
+      for (int m = layers - 2; m >= 0; m--)                                            // From the last weight layer back
+      {
+         double omegaOut[] = (m > 0) ? ctx.omega[m] : null;                            // No omega passes to the inputs
+         double targets[] = (m == layers - 2) ? expectedOutputs : null;
+         int stride = nodesInLayer[m];
+
+         for (int j = 0; j < nodesInLayer[m + 1]; j++)
+         {
+            psi = psi(m, j, targets, ctx);
+
+            if (structure[m] != null)
+               structure[m].gradient(omegaOut, weights[m], gradient[m], j, ctx.activationVals[m], psi);
+            else if (m == 0 && ctx.sparseInputs)                                       // Only non-zero inputs' weights
+               for (int k = 0; k < ctx.activeCount; k++)
+                  gradient[m][j * stride + ctx.activeInputs[k]] += ctx.activationVals[m][ctx.activeInputs[k]] * psi;
+            else
+               kernels.gradient(omegaOut, weights[m], gradient[m], j * stride, ctx.activationVals[m], psi, stride);
+         }
+      }  // for (int m = layers - 2; m >= 0; m--)
+
+      return;
+   }  // private void accumulateGradient(double expectedOutputs[], double gradient[][], EvalContext ctx)
+
+   /*
+    * newGradient returns a gradient of zeros for the network, with one array per weight layer laid out as its weights.
+    */
+   public double[][] newGradient()
+   {
+      double gradient[][] = new double[layers - 1][];
+      for (int m = 0; m < layers - 1; m++)
+         gradient[m] = new double[weights[m].length];
+      return gradient;
+   }
  
    /*
-    * setWeights changes the network's weights to a given set of weights 
+    * setWeights changes the network's weights to a given set of weights, laid out one array per weight layer.
+    */
+   public void setWeights(double newWeights[][])
+   {
+      weights = newWeights;
+      return;
+   }
+
+   /*
+    * setParallel turns parallel mode on or off. In parallel mode, each layer fed by at least PARALLEL_THRESHOLD 
+    * weights has its nodes split across the common fork-join pool, both when evaluating and when stepping, which 
+    * lowers the time of a single evaluation or training case on wide networks. Smaller layers always run serially. 
+    * Parallel steps add up omega in a different order, so they match serial steps only to within rounding.
+    */
+   public void setParallel(boolean useParallel)
+   {
+      parallel = useParallel;
+      return;
+   }
+
+   /*
+    * setSparseInputs turns sparse input detection on or off. When on, each evaluation or step given an array of 
+    * inputs lists its non-zero inputs, and if at most SPARSE_DENSITY of them are non-zero, the first layer's dot 
+    * products and weight updates visit only those, as evalBits and stepBits always do. Denser inputs fall back to 
+    * the full kernels. Inputs from one-hot encodings suit this mode; pels from getPels are never zero and do not.
+    */
+   public void setSparseInputs(boolean useSparseInputs)
+   {
+      sparseInputs = useSparseInputs;
+      return;
+   }
+
+   /*
+    * setActivation sets the threshold function applied to the nodes of a given layer, which must come after the 
+    * input layer. Hidden layers may use cheaper functions, such as relu, than the sigmoid.
+    */
+   public void setActivation(int layer, Activation activation)
+   {
+      activations[layer] = activation;
+      return;
+   }
+
+   /*
+    * setFastSigmoid switches every layer using the sigmoid to the tabulated Activation.FAST_SIGMOID when given true, 
+    * and back to the exact sigmoid when given false. Layers with other threshold functions are left alone.
+    */
+   public void setFastSigmoid(boolean useFastSigmoid)
+   {
+      for (int layer = 1; layer < layers; layer++)
+      {
+         if (useFastSigmoid && activations[layer] == Activation.SIGMOID)
+            activations[layer] = Activation.FAST_SIGMOID;
+         else if (!useFastSigmoid && activations[layer] == Activation.FAST_SIGMOID)
+            activations[layer] = Activation.SIGMOID;
+      }
+
+      return;
+   }  // public void setFastSigmoid(boolean useFastSigmoid)
+
+   /*
+    * prune removes the weights of weight layer m whose magnitude is below a given threshold, storing the rest in 
+    * compressed sparse row form so evaluating the layer costs time in proportion to its remaining weights. Removed 
+    * weights stay 0 through later training. An already pruned layer is pruned further from its remaining weights, 
+    * so weights it has already removed are never brought back, whatever the threshold.
+    */
+   public void prune(int m, double threshold)
+   {
+      double dense[] = denseWeights(m);
+      SparseLayer pruned;
+
+      if (structure[m] instanceof SparseLayer)
+         pruned = new SparseLayer((SparseLayer) structure[m], weights[m], threshold);
+      else
+         pruned = new SparseLayer(dense, nodesInLayer[m], nodesInLayer[m + 1], threshold);
+      structure[m] = pruned;
+      weights[m] = pruned.gather(dense);
+
+      return;
+   }
+
+   /*
+    * pruneToSparsity removes the given share, from 0 to 1, of the smallest magnitude weights of weight layer m as 
+    * prune does. Weights tied with the largest removed magnitude are removed too. The share counts weights an 
+    * already pruned layer has removed, so a share no larger than the layer's current sparsity removes only remaining 
+    * weights that are exactly 0.
+    */
+   public void pruneToSparsity(int m, double sparsity)
+   {
+      double magnitudes[] = denseWeights(m);
+      int removed = (int) Math.round(sparsity * magnitudes.length);
+
+      for (int k = 0; k < magnitudes.length; k++)
+         magnitudes[k] = Math.abs(magnitudes[k]);
+      Arrays.sort(magnitudes);
+
+      if (removed <= 0)
+         prune(m, 0.0);
+      else if (removed >= magnitudes.length)
+         prune(m, Double.POSITIVE_INFINITY);
+      else
+         prune(m, Math.nextUp(magnitudes[removed - 1]));
+
+      return;
+   }  // public void pruneToSparsity(int m, double sparsity)
+
+   /*
+    * denseWeights returns a copy of weight layer m laid out as a fully connected layer, with weights it does not 
+    * connect 0. Throws an UnsupportedOperationException for pooling layers, which are not weighted sums.
+    */
+   public double[] denseWeights(int m)
+   {
+      if (structure[m] != null)
+         return structure[m].toDense(weights[m]);
+      return weights[m].clone();
+   }
+
+   /*
+    * nodeContributions returns, for each node of hidden layer n, the mean over a given set of inputs of the magnitude 
+    * of its activation times the total magnitude of its outgoing weights. This bounds how much the node moves the 
+    * next layer's dot products on average, so dead nodes score 0. The network has no biases, so nodes saturated at a 
+    * constant non-zero activation still score by that constant.
+    */
+   public double[] nodeContributions(int n, double inputArrays[][])
+   {
+      double contributions[] = new double[nodesInLayer[n]];
+      double outgoing[] = denseWeights(n);
+      int nodes = nodesInLayer[n];
+
+      for (int c = 0; c < inputArrays.length; c++)                      // Total each node's activation magnitude
+      {
+         forward(inputArrays[c], context);
+         for (int i = 0; i < nodes; i++)
+            contributions[i] += Math.abs(context.activationVals[n][i]);
+      }
+
+      for (int i = 0; i < nodes; i++)                                   // Scale by the node's outgoing weights
+      {
+         double weightTotal = 0.0;
+         for (int j = 0; j < nodesInLayer[n + 1]; j++)
+            weightTotal += Math.abs(outgoing[j * nodes + i]);
+         contributions[i] *= weightTotal / Math.max(inputArrays.length, 1);
+      }
+
+      return contributions;
+   }  // public double[] nodeContributions(int n, double inputArrays[][])
+
+   /*
+    * removeNodes removes the nodes of hidden layer n for which a given array is false, along with the weights into 
+    * and out of them, leaving a smaller network on the dense path. The weight layers next to the layer come back 
+    * fully connected even if they were pruned or convolutions, as from denseWeights. The network's own context is 
+    * recreated, so contexts from newContext must be recreated too.
+    */
+   public void removeNodes(int n, boolean keep[])
+   {
+      double incoming[] = denseWeights(n - 1);
+      double outgoing[] = denseWeights(n);
+      int sources = nodesInLayer[n - 1];
+      int nodes = nodesInLayer[n];
+      int destinations = nodesInLayer[n + 1];
+      int kept = 0;
+
+      for (int i = 0; i < nodes; i++)
+      {
+         if (keep[i])
+            kept++;
+      }
+
+      weights[n - 1] = new double[kept * sources];                      // Keep the rows of the kept nodes
+      weights[n] = new double[destinations * kept];                     // Keep the columns of the kept nodes
+      int k = 0;
+      for (int i = 0; i < nodes; i++)
+      {
+         if (!keep[i])
+            continue;
+         System.arraycopy(incoming, i * sources, weights[n - 1], k * sources, sources);
+         for (int j = 0; j < destinations; j++)
+            weights[n][j * kept + k] = outgoing[j * nodes + i];
+         k++;
+      }
+
+      structure[n - 1] = null;
+      structure[n] = null;
+      nodesInLayer[n] = kept;
+      calcMaxNodes();
+      initActivationVals();                                             // Resize the scratch values to the new layer
+
+      return;
+   }  // public void removeNodes(int n, boolean keep[])
+
+   /*
+    * factorLayer replaces weight layer m with the two thin weight layers of a truncated singular value decomposition 
+    * from LowRank, joined by a new linear layer inserted as layer m + 1. Its rank is the smallest, at most maxRank, 
+    * keeping the given share, from 0 to 1, of the layer's squared weights, and is returned. A layer of s sources and 
+    * d destinations then costs r * (s + d) multiply-adds per sample instead of s * d, and saves, loads and trains 
+    * like any other layer. Later layers' indices grow by one, and the network's own context is recreated.
     */
-   public void setWeights(double newWeights[][][])
+   public int factorLayer(int m, int maxRank, double energy)
    {
+      double factors[][] = LowRank.factor(denseWeights(m), nodesInLayer[m], nodesInLayer[m + 1], maxRank, energy);
+      int rank = factors[0].length / nodesInLayer[m];
+
+      int newNodes[] = new int[layers + 1];                             // Insert the linear layer after layer m
+      Activation newActivations[] = new Activation[layers + 1];
+      double newWeights[][] = new double[layers][];
+      Layer newStructure[] = new Layer[layers];
+      for (int layer = 0; layer <= layers; layer++)
+      {
+         int from = (layer <= m) ? layer : layer - 1;                   // The old layer this one comes from
+         newNodes[layer] = (layer == m + 1) ? rank : nodesInLayer[from];
+         newActivations[layer] = (layer == m + 1) ? Activation.LINEAR : activations[from];
+         if (layer < layers && layer != m && layer != m + 1)
+         {
+            newWeights[layer] = weights[from];
+            newStructure[layer] = structure[from];
+         }
+      }
+      newWeights[m] = factors[0];
+      newWeights[m + 1] = factors[1];
+
+      layers++;
+      outputIndex++;
+      nodesInLayer = newNodes;
+      activations = newActivations;
       weights = newWeights;
+      structure = newStructure;
+      calcMaxNodes();
+      initActivationVals();
+
+      return rank;
+   }  // public int factorLayer(int m, int maxRank, double energy)
+
+   /*
+    * setConvolution makes weight layer m a convolution, given the number of image channels in layer m, their height 
+    * and width in pels, the kernel size, and the range the filters' weights are randomized in from the network's 
+    * seed. Layer m + 1 holds the filters' images, so its nodes must be a whole number of 
+    * (height - kernel + 1) x (width - kernel + 1) images. Throws an IllegalArgumentException if the sizes do not fit.
+    */
+   public void setConvolution(int m, int channels, int height, int width, int kernel, double minWeight, double maxWeight)
+   {
+      int outPels = (height - kernel + 1) * (width - kernel + 1);
+      if (nodesInLayer[m] != channels * height * width || kernel > Math.min(height, width) || 
+          nodesInLayer[m + 1] % outPels != 0)
+         throw new IllegalArgumentException(String.format("Layers of %d and %d nodes do not fit a %dx%d convolution " + 
+                                            "of %d channels of %dx%d pels", nodesInLayer[m], nodesInLayer[m + 1], 
+                                            kernel, kernel, channels, height, width));
+
+      ConvLayer convolution = new ConvLayer(channels, height, width, kernel, nodesInLayer[m + 1] / outPels);
+      structure[m] = convolution;
+      weights[m] = new double[convolution.size()];
+      randomize(m, minWeight, maxWeight);
+
+      return;
+   }  // public void setConvolution(int m, int channels, int height, int width, int kernel, double minWeight, double maxWeight)
+
+   /*
+    * setPooling makes weight layer m max pooling, given the number of image channels in layer m, their height and 
+    * width in pels, and the block size. Layer m + 1 must have one node per whole block and uses the linear threshold 
+    * function. Throws an IllegalArgumentException if the sizes do not fit.
+    */
+   public void setPooling(int m, int channels, int height, int width, int size)
+   {
+      if (nodesInLayer[m] != channels * height * width || 
+          nodesInLayer[m + 1] != channels * (height / size) * (width / size))
+         throw new IllegalArgumentException(String.format("Layers of %d and %d nodes do not fit %dx%d pooling of %d " + 
+                                            "channels of %dx%d pels", nodesInLayer[m], nodesInLayer[m + 1], size, 
+                                            size, channels, height, width));
+
+      structure[m] = new PoolLayer(channels, height, width, size);
+      weights[m] = new double[0];
+      activations[m + 1] = Activation.LINEAR;
+
       return;
+   }  // public void setPooling(int m, int channels, int height, int width, int size)
+
+   /*
+    * multiplyAdds returns the number of multiply-adds, or pooling comparisons, one evaluation of the network takes.
+    */
+   public long multiplyAdds()
+   {
+      long total = 0;
+      for (int m = 0; m < layers - 1; m++)
+         total += connections(m);
+      return total;
    }
-}  // public class Network 
+}  // public class Network
@@ -0,0 +1,156 @@
+/*
+ * Authored by Bennett Liu on October 17th, 2026
+ * 
+ * NetworkCompiler.java turns a small trained Network into a generated Java class whose eval is fully unrolled: every 
+ * node is a local variable and every weight is a constant written out exactly as a hexadecimal double literal. 
+ * There are no loops, no array bounds checks and no reads of nodesInLayer, so the JIT compiles each evaluation into 
+ * straight-line arithmetic. The generated source is compiled in memory with the JDK's compiler and loaded as a 
+ * hidden class. Networks with more than MAX_WEIGHTS weights are not compiled: past about a thousand weights the 
+ * unrolled eval is larger than the 8000 bytes of bytecode HotSpot will compile in one method, so it would only ever 
+ * be interpreted and would run several times slower than Network.eval.
+ * 
+ * Contains the following methods:
+ * 
+ * Method                  |  Description
+ * ------------------------|---------------------
+ * compile                 |  Returns an unrolled Evaluator for a Network, or the Network itself if no compiler exists.
+ * generateSource          |  Writes the Java source of the unrolled evaluator.
+ * compileSource           |  Compiles Java source in memory and returns the class file.
+ */
+
+import java.io.*;
+import java.lang.invoke.*;
+import java.net.*;
+import java.util.*;
+import javax.tools.*;
+
+public class NetworkCompiler 
+{
+   static final int MAX_WEIGHTS = 800;             // The most weights an unrolled eval fits in one JIT compiled method
+   static final String CLASS_NAME = "CompiledNetwork";
+
+   /*
+    * compile returns an Evaluator that gives the same outputs as a given Network's eval, as a generated class with 
+    * the network's current weights built in. Later changes to the Network are not seen by the evaluator. If the 
+    * running Java has no compiler, the Network itself is returned. Throws an IllegalArgumentException if the 
+    * network has more than MAX_WEIGHTS connections, or has a pooling layer.
+    */
+   public static Evaluator compile(Network network)
+   {
+      long totalWeights = network.multiplyAdds();                // One unrolled term per connection
+      if (totalWeights > MAX_WEIGHTS)
+         throw new IllegalArgumentException(String.format("Network has %d connections, more than the %d that can be compiled", 
+                                                          totalWeights, MAX_WEIGHTS));
+      for (int layer = 0; layer < network.layers - 1; layer++)
+      {
+         if (network.structure[layer] instanceof PoolLayer)
+            throw new IllegalArgumentException("Networks with pooling layers cannot be compiled");
+      }
+
+      JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+      if (compiler == null)                                    // Running on a JRE without javac
+         return network;
+
+      try 
+      {
+         byte classFile[] = compileSource(compiler, generateSource(network));
+         MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(classFile, true);
+         return (Evaluator) lookup.lookupClass().getDeclaredConstructor(Activation[].class)
+                                  .newInstance((Object) network.activations.clone());
+      }
+      catch (ReflectiveOperationException | IOException e)
+      {
+         throw new IllegalStateException("Compiled network could not be loaded", e);
+      }
+   }  // public static Evaluator compile(Network network)
+
+   /*
+    * generateSource returns the source of a class implementing Evaluator whose eval calculates every node of the 
+    * given network as a local variable, named a<layer>_<node>, from constant weights. The layers' threshold 
+    * functions are passed to the class's constructor.
+    */
+   static String generateSource(Network network)
+   {
+      StringBuilder source = new StringBuilder();
+
+      source.append(String.format("public final class %s implements Evaluator\n{\n", CLASS_NAME));
+      source.append("   private final Activation activations[];\n\n");
+      source.append(String.format("   public %s(Activation activations[])\n   {\n", CLASS_NAME));
+      source.append("      this.activations = activations;\n   }\n\n");
+      source.append("   public double[] eval(double inputArray[])\n   {\n");
+
+      for (int i = 0; i < network.inputs; i++)                               // Inputs
+         source.append(String.format("      double a0_%d = inputArray[%d];\n", i, i));
+
+      for (int layer = 1; layer <= network.outputIndex; layer++)             // Each node of each later layer
+      {
+         int sources = network.nodesInLayer[layer - 1];
+         double layerWeights[] = network.denseWeights(layer - 1);
+         boolean pruned = network.structure[layer - 1] != null;
+         source.append(String.format("      Activation f%d = activations[%d];\n", layer, layer));
+         for (int j = 0; j < network.nodesInLayer[layer]; j++)
+         {
+            int terms = 0;
+            source.append(String.format("      double a%d_%d = f%d.apply(", layer, j, layer));
+            for (int i = 0; i < sources; i++)
+            {
+               if (pruned && layerWeights[j * sources + i] == 0.0)        // Leave out weights the layer does not connect
+                  continue;
+               if (terms++ > 0)
+                  source.append(" + ");
+               source.append(String.format("a%d_%d * %s", layer - 1, i, 
+                                           Double.toHexString(layerWeights[j * sources + i])));
+            }
+            if (terms == 0)                                                // Every weight of the node was removed
+               source.append("0.0");
+            source.append(");\n");
+         }
+      }  // for (int layer = 1; layer <= network.outputIndex; layer++)
+
+      source.append("      return new double[] {");                     // Outputs
+      for (int j = 0; j < network.outputs; j++)
+         source.append(String.format("%sa%d_%d", (j > 0) ? ", " : "", network.outputIndex, j));
+      source.append("};\n   }\n}\n");
+
+      return source.toString();
+   }  // static String generateSource(Network network)
+
+   /*
+    * compileSource compiles the source of CLASS_NAME in memory with a given compiler and returns its class file.
+    */
+   static byte[] compileSource(JavaCompiler compiler, String source) throws IOException
+   {
+      ByteArrayOutputStream classFile = new ByteArrayOutputStream();
+      StringWriter errors = new StringWriter();
+
+      JavaFileObject sourceFile = new SimpleJavaFileObject(URI.create("string:///" + CLASS_NAME + ".java"), 
+                                                           JavaFileObject.Kind.SOURCE)
+      {
+         public CharSequence getCharContent(boolean ignoreEncodingErrors)
+         {
+            return source;
+         }
+      };
+      JavaFileManager fileManager = new ForwardingJavaFileManager<JavaFileManager>(compiler.getStandardFileManager(null, null, null))
+      {
+         public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind, FileObject sibling)
+         {
+            return new SimpleJavaFileObject(URI.create("bytes:///" + className + ".class"), kind)
+            {
+               public OutputStream openOutputStream()
+               {
+                  return classFile;
+               }
+            };
+         }
+      };
+
+      List<String> options = Arrays.asList("-classpath", System.getProperty("java.class.path"));
+      boolean compiled = compiler.getTask(errors, fileManager, null, options, null, Arrays.asList(sourceFile)).call();
+      fileManager.close();
+      if (!compiled)
+         throw new IOException("Generated network did not compile: " + errors);
+
+      return classFile.toByteArray();
+   }  // static byte[] compileSource(JavaCompiler compiler, String source) throws IOException
+}  // public class NetworkCompiler
@@ -11,26 +11,73 @@
  * NetworkTrainer          |  A constructor for creating a Network, given a network and a training set of doubles.
  * NetworkTrainer          |  A constructor for creating a Network, given a network and a training set of image inputs and double outputs.	
  * NetworkTrainer          |  A constructor for creating a Network, given a network and a training set of images.
- * calcError               |  Calculates the total error for the whole training set.
+ * NetworkTrainer          |  A constructor for creating a Network, given a network and a training set of binary inputs as bitsets.
+ * calcError               |  Calculates the total error for the whole training set, in parallel pieces.
+ * calcError               |  Calculates the total error for a range of training cases.
  * train                   |  Runs training steps while certain conditions are met.
  * adaptiveImprove         |  Runs adaptive training
+ * addWorkerErrors         |  Adds up the workers' squared differences in worker order and clears them.
+ * caseError               |  Calculates the squared output differences of a training case just evaluated in a context.
+ * stepMinibatches         |  Steps once per minibatch, from gradients summed by workers in parallel.
+ * stepHogwild             |  Steps on the whole training set with workers sharing the weights without locks.
+ * sumGradient             |  Adds the gradients of a range of training cases to one worker's gradient.
+ * applyGradient           |  Applies steepest descent from one worker's gradient and clears it.
+ * applyGradients          |  Applies steepest descent from the sum of the workers' gradients into given weights.
+ * applyBlock              |  Applies the summed gradients to one block of a weight layer.
+ * saveWeights             |  Copies the weights into the saved weights, in parallel blocks.
+ * swapWeights             |  Trades the network's weights with the saved weights.
+ * initWorkers             |  Creates the workers' contexts and gradients, again if the network has changed shape.
+ * setMinibatch            |  Sets the number of training cases per step.
+ * setHogwild              |  Turns lock-free parallel steps on or off.
+ * setOptimizer            |  Sets the rule that turns summed gradients into steps.
+ * minibatch               |  Returns the number of training cases per step when stepping from gradients.
+ * setErrorEstimate        |  Turns error estimates from the training steps on or off, given how often to check them.
+ * refreshError            |  Evaluates the error exactly if the current weights came from an estimate.
+ * printEstimates          |  Prints how often the error estimates were used and agreed with the exact error.
  * printResults            |  Prints information on each training case.
  * getNetwork              |  Returns the current network.
  */
 
 import java.util.*;
+import java.util.stream.*;
 
 public class NetworkTrainer
 {
    Network network;              // The network to be trained
    int trainingCases;            // The number of training cases
    double trainingInputs[][];    // The inputs to be trained on
+   long trainingBits[][];        // The binary inputs to be trained on as bitsets, used instead of trainingInputs if set
    double trainingOutputs[][];   // The outputs to be trained on
+   double results[][];           // The network's outputs for each training case, reused by calcError
+   EvalContext contexts[];       // The evaluation context of each piece of calcError
+   int contextNodes[];           // The network's nodes per layer when the contexts were created
+   double pieceErrors[];         // The total error of each piece of calcError
+   double savedWeights[][];      // The weights before the current epoch, reused by adaptiveImprove for roll back
+
+   int batchSize;                // The number of training cases summed into each step, 0 to step on every case
+   boolean hogwild;              // Whether workers step on their own training cases at once, without locks
+   Optimizer optimizer;          // The rule that turns summed gradients into steps, null to step as Network.step does
+   EvalContext workerContexts[]; // The evaluation context of each worker of minibatch and lock-free epochs
+   int workerNodes[];            // The network's nodes per layer when the workers' contexts were created
+   double gradients[][][];       // The gradient each piece of a step sums its training cases into
+   double workerErrors[];        // The squared output differences each worker's training cases had before stepping
+
+   int estimatePeriod;           // Every how many epochs the error is evaluated exactly, 0 to never estimate it
+   double lastEstimate;          // The estimated error of the epoch that gave the current weights
+   int epochs;                   // The number of epochs run
+   int estimatedEpochs;          // The number of epochs accepted from the estimated error alone
+   int comparisons;              // The number of epochs whose estimated and exact errors were both found
+   int agreements;               // The number of those whose estimate would have made the same decision
 
    double error;                 // The network's current error
+   boolean errorStale;           // Whether error was found before the current weights, which came from an estimate
    double trainingFactor;        // The training factor (lambda)
    double adaptConstant;         // The adaptive factor, used to modify lambda
 
+   static final int ERROR_PIECES = 64;   // The most pieces calcError splits the training set into
+   static final int WORKERS = Runtime.getRuntime().availableProcessors();   // The most workers an epoch uses
+   static final int WEIGHT_BLOCK = 1 << 14; // The number of weights each piece of applyGradients or saveWeights handles
+
    /*
     * The Network constructor creates a new NetworkTrainer, given a network and double training inputs/outputs.
     */
@@ -88,29 +135,90 @@ public class NetworkTrainer
    }
 
    /*
-    * calcError returns the total error when the network is run for all input-output pairs.
+    * The Network constructor creates a new NetworkTrainer, given a network, binary training inputs packed into bitsets 
+    * as described in Network.evalBits, and double training outputs. Each step only touches the first layer weights of 
+    * set bits, which suits sparse binary inputs.
+    */
+   public NetworkTrainer(Network initialNetwork, long inputBits[][], double outputs[][])
+   {
+      network = initialNetwork;
+      trainingCases = inputBits.length;
+      trainingBits = inputBits;
+      trainingOutputs = outputs;
+      error = calcError();
+
+      return;
+   }
+
+   /*
+    * calcError returns the total error when the network is run for all input-output pairs. The training set is split 
+    * into pieces of at least Network.BATCH_SIZE cases, at most ERROR_PIECES of them, that the common fork-join pool 
+    * evaluates at the same time, each with its own context. The pieces' errors are added in order, so the total 
+    * depends only on the training set, not on the number of threads.
     */
    private double calcError()
+   {
+      double totalError = 0.0;
+      int pieces = Math.min(ERROR_PIECES, (trainingCases + Network.BATCH_SIZE - 1) / Network.BATCH_SIZE);
+
+      if (results == null)                                     // Create the results on first use
+         results = new double[trainingCases][network.outputs];
+      if (contexts == null || !Arrays.equals(contextNodes, network.nodesInLayer))   // and the pieces, again if resized
+      {
+         contextNodes = network.nodesInLayer.clone();
+         contexts = new EvalContext[pieces];
+         pieceErrors = new double[pieces];
+         for (int piece = 0; piece < pieces; piece++)
+            contexts[piece] = network.newContext();
+      }
+
+      if (pieces == 1)                                         // A single piece needs no other threads
+         pieceErrors[0] = calcError(0, trainingCases, contexts[0]);
+      else
+         IntStream.range(0, pieces).parallel().forEach(piece -> 
+            pieceErrors[piece] = calcError(trainingCases * piece / pieces, trainingCases * (piece + 1) / pieces, 
+                                           contexts[piece]));
+
+      for (int piece = 0; piece < pieces; piece++)             // Add up the pieces in order
+         totalError += pieceErrors[piece];
+      totalError /= 2.0;                                       // This halving of error is specified in design doc 1.
+
+      return totalError;
+   }  // private double calcError()
+
+   /*
+    * calcError returns the sum of squared output differences, before halving, for training cases first through 
+    * last - 1, evaluated using a given context.
+    */
+   private double calcError(int first, int last, EvalContext ctx)
    {
       double totalError = 0.0;
       double diff;
-      for (int i = 0; i < trainingCases; i++)
+
+      if (trainingBits != null)                                // Get results for each binary case
       {
-         double[] results = network.eval(trainingInputs[i]);   // Get results
+         for (int i = first; i < last; i++)
+            network.evalBits(trainingBits[i], results[i], ctx);
+      }
+      else
+         network.evalBatch(trainingInputs, results, first, last, ctx);   // Get results for the range at once
 
+      for (int i = first; i < last; i++)
+      {
          for (int j = 0; j < network.outputs; j++)             // Calculate error for given training case
          {
-            diff = (trainingOutputs[i][j] - results[j]);
+            diff = (trainingOutputs[i][j] - results[i][j]);
             totalError += (diff * diff);
          }
       }
-      totalError /= 2.0;                                       // This halving of error is specified in design doc 1.
 
       return totalError;
-   }  // private double calcError()
+   }  // private double calcError(int first, int last, EvalContext ctx)
 
    /*
-    * train runs multiple steps while some conditions are still met.
+    * train runs multiple steps while some conditions are still met. With error estimates on, the training set is 
+    * evaluated exactly once an accepted estimate falls below the minimum error, so training stops on the exact error, 
+    * and again when training ends, so the error reported and left in error is that of the final weights.
     */
    public void train(double initLambda, double adaptConst, int maxSteps, double minError, double minLambda, int updatePeriod, int writePeriod)
    {
@@ -124,12 +232,15 @@ public class NetworkTrainer
          step++;
 
          improved = adaptiveImprove(minLambda);                               // Run an adaptive step and save the result
+         if (lastEstimate < minError)                                         // Test the stop on the exact error
+            refreshError();
 
          if ((updatePeriod > 0) && ((step % updatePeriod) == 0))              // Saves and prints output every updatePeriod steps
             printResults();
          if ((writePeriod > 0) && ((step % writePeriod) == 0))                // Saves and prints output every updatePeriod steps
             network.exportNet("logs/" + (new Date()).getTime() + ".txt");
       }  // while ((step < maxSteps) && (error >= minError) && (trainingFactor >= minLambda) && (adaptConstant != 1 || improved))
+      refreshError();                                                         // Report the error of the final weights
 
       System.out.println();                                                   // Print the reason(s) for termination
       System.out.println(String.format("Terminated after %d steps", step));
@@ -141,55 +252,477 @@ public class NetworkTrainer
          System.out.println("Was not able to improve error.");
       if (trainingFactor < minLambda)
          System.out.println(String.format("Training factor (lambda) fell below %.15f", minLambda));
+      if (estimatePeriod > 0)
+         printEstimates();
       System.out.println();
    }  // public void train(double initLambda, double adaptConst, int maxSteps, double minError, double minLambda, int updatePeriod, int writePeriod)
 
    /*
     * adaptiveImprove runs a single adaptive training step for each training case. It saves initial weights 
     * and attempts these steps simultaneously. If the step improves error, the training factor is increased, 
-    * otherwise the weights are rolled back and training factor is decreased. Returns whether error was improved.
+    * otherwise the weights are rolled back and training factor is decreased. Returns whether error was improved. 
+    * The saved weights and the network's weights trade places on roll back, so no epoch allocates a weight matrix, 
+    * and a serial epoch, whose work and error fit in one piece, allocates nothing at all, as AllocationCheck checks.
+    * With a minibatch size or lock-free steps set, the epoch steps as stepMinibatches or stepHogwild describe, and 
+    * the training factor and roll back still follow the error of the whole epoch. Minibatch epochs save the old 
+    * weights without copying them, as stepMinibatches describes. Per-case and lock-free epochs still copy every 
+    * weight into the saved weights first: their steps update the weights in place through Network.step, which has 
+    * no form that writes elsewhere, and the copy is one pass over the weights against one per training case.
+    *
+    * Every step evaluates its training case before changing the weights, so the epoch's errors before each step add 
+    * up to an estimate of the error that costs no extra evaluation. The estimate runs above the exact error at the 
+    * end of the epoch, so it is only compared with the previous epoch's estimate. With error estimates on, an epoch 
+    * whose estimate improves on the previous one is accepted without evaluating the training set again, leaving the 
+    * error as last evaluated until train evaluates it. The training set is evaluated exactly when the estimate does 
+    * not improve, so roll back is decided exactly, and every estimatePeriod epochs, which also records whether the 
+    * estimate would have made the same decision.
     */
    private boolean adaptiveImprove(double minLambda)
    {
       boolean improved;
       double newError = 0.0;
-      double oldWeights[][][] = new double[network.layers - 1][network.maxNodes][network.maxNodes];
+      double estimate = 0.0;
 
-      for (int layer = 0; layer < network.layers - 1; layer++)                   // Save old weights in case of roll back
+      savedWeights = Optimizer.fit(savedWeights, network.weights);               // Refit if layers were changed since
+
+      if (minibatch() > 0 && !hogwild)
+         estimate = stepMinibatches();                                           // Saves the old weights as it steps
+      else
       {
-         for (int i = 0; i < network.nodesInLayer[layer]; i++)
+         saveWeights();                                                          // Steps update in place, so copy
+         if (hogwild)
+            estimate = stepHogwild();
+         else
          {
-            for (int j = 0; j < network.nodesInLayer[layer + 1]; j++)
+            for (int trainingCase = 0; trainingCase < trainingCases; trainingCase++)  // Improve for each training case
             {
-               oldWeights[layer][i][j] = network.weights[layer][i][j];
+               if (trainingBits != null)
+                  network.stepBits(trainingBits[trainingCase], trainingOutputs[trainingCase], trainingFactor, network.context);
+               else
+                  network.step(trainingInputs[trainingCase], trainingOutputs[trainingCase], trainingFactor);
+               estimate += caseError(trainingCase, network.context);        // The step's evaluation, before its update
             }
          }
+      }  // else
+      estimate /= 2.0;                       // Halved as in calcError
+
+      epochs++;
+      if (estimatePeriod > 0 && (epochs % estimatePeriod) != 0 && estimate < lastEstimate)
+      {
+         improved = true;                    // Accept from the estimate alone
+         estimatedEpochs++;
+         errorStale = true;
+      }
+      else
+      {
+         newError = calcError();             // Calculate the new error
+         improved = newError < error;
+         if (estimatePeriod > 0)             // and compare the estimate's decision with it
+         {
+            comparisons++;
+            if ((estimate < lastEstimate) == improved)
+               agreements++;
+         }
+         if (improved)
+         {
+            error = newError;                // Update error
+            errorStale = false;
+         }
       }
-      for (int trainingCase = 0; trainingCase < trainingCases; trainingCase++)  // Improve for each training case
-         network.step(trainingInputs[trainingCase], trainingOutputs[trainingCase], trainingFactor);
 
-      newError = calcError();                // Calculate the new error
-      if (newError < error)                  // If steps improved error
+      if (improved)                          // If steps improved error
       {
-         error = newError;                   // Update error
+         lastEstimate = estimate;
          trainingFactor *= adaptConstant;    // Make a bigger step next time
-         improved = true;
       }
       else                                   // If steps worsened error
       {
-         network.setWeights(oldWeights);     // Roll back weights
+         swapWeights();                      // Roll back weights, keeping the discarded ones for the next save
          trainingFactor /= adaptConstant;    // Make a smaller step next time
-         improved = false;
       }
 
       return improved;                       // Return whether the error improved
    }  // private boolean adaptiveImprove(double minLambda)
 
    /*
-    * printResults prints the network's results for each input-output pair, the training factor, and total error.
+    * caseError returns the sum of squared output differences, before halving, of a given training case whose 
+    * evaluation is held in a given context.
+    */
+   private double caseError(int trainingCase, EvalContext ctx)
+   {
+      double totalError = 0.0;
+      double diff;
+
+      for (int j = 0; j < network.outputs; j++)
+      {
+         diff = (trainingOutputs[trainingCase][j] - ctx.activationVals[network.outputIndex][j]);
+         totalError += (diff * diff);
+      }
+
+      return totalError;
+   }
+
+   /*
+    * addWorkerErrors returns the sum of every worker's squared output differences, added in worker order, and clears 
+    * them for the next epoch.
+    */
+   private double addWorkerErrors()
+   {
+      double totalError = 0.0;
+
+      for (int worker = 0; worker < WORKERS; worker++)
+      {
+         totalError += workerErrors[worker];
+         workerErrors[worker] = 0.0;
+      }
+
+      return totalError;
+   }
+
+   /*
+    * stepMinibatches steps once for each run of minibatch() training cases, in order. Each minibatch is split into a 
+    * piece per worker, and the workers sum the gradients of their pieces into their own gradients at the same time. 
+    * The gradients are then added up and applied once, so every case of a minibatch sees the same weights. The 
+    * step is lambda times the summed gradient, so a minibatch of one case steps just as step does. The first step 
+    * writes its new weights into the saved weights and then trades them with the network's, which leaves the old 
+    * weights saved for roll back without copying them. Returns the sum of squared output differences of every 
+    * training case before the step it was part of.
+    */
+   private double stepMinibatches()
+   {
+      int size = minibatch();
+
+      initWorkers();
+      for (int first = 0; first < trainingCases; first += size)
+      {
+         int start = first;
+         int end = Math.min(first + size, trainingCases);
+         int pieces = Math.min(WORKERS, end - start);
+
+         if (pieces == 1)                                         // A single piece needs no other threads
+            sumGradient(start, end, 0);
+         else
+            IntStream.range(0, pieces).parallel().forEach(piece -> 
+               sumGradient(start + (end - start) * piece / pieces, start + (end - start) * (piece + 1) / pieces, piece));
+
+         if (first == 0)                                          // Step into the saved weights, keeping the old ones
+         {
+            applyGradients(pieces, savedWeights);
+            swapWeights();
+         }
+         else
+            applyGradients(pieces, network.weights);
+      }
+
+      return addWorkerErrors();
+   }  // private double stepMinibatches()
+
+   /*
+    * stepHogwild splits the training set into a piece per worker, and the workers step through their pieces at the 
+    * same time on the shared weights, without locks, as in Hogwild. Each worker steps on every case, or once per 
+    * minibatch from its own gradient if a minibatch size is set. Workers may overwrite each other's updates to a 
+    * weight they touch at once, which rarely matters when each update is small, so an epoch is not reproducible. 
+    * Returns the sum of squared output differences of every training case before its step.
+    */
+   private double stepHogwild()
+   {
+      int pieces = Math.min(WORKERS, trainingCases);
+      int size = minibatch();
+
+      initWorkers();
+      IntStream.range(0, pieces).parallel().forEach(piece -> 
+      {
+         EvalContext ctx = workerContexts[piece];
+         int last = trainingCases * (piece + 1) / pieces;
+
+         for (int first = trainingCases * piece / pieces; first < last; first += Math.max(size, 1))
+         {
+            if (size > 0)
+            {
+               sumGradient(first, Math.min(first + size, last), piece);
+               applyGradient(piece);
+            }
+            else
+            {
+               if (trainingBits != null)
+                  network.stepBits(trainingBits[first], trainingOutputs[first], trainingFactor, ctx);
+               else
+                  network.step(trainingInputs[first], trainingOutputs[first], trainingFactor, ctx);
+               workerErrors[piece] += caseError(first, ctx);
+            }
+         }
+      });
+
+      return addWorkerErrors();
+   }  // private double stepHogwild()
+
+   /*
+    * sumGradient adds the error gradients of training cases first through last - 1 to a given worker's gradient, 
+    * evaluating them in the worker's context, and adds their squared output differences to the worker's errors.
+    */
+   private void sumGradient(int first, int last, int worker)
+   {
+      for (int i = first; i < last; i++)
+      {
+         if (trainingBits != null)
+            network.gradientBits(trainingBits[i], trainingOutputs[i], gradients[worker], workerContexts[worker]);
+         else
+            network.gradient(trainingInputs[i], trainingOutputs[i], gradients[worker], workerContexts[worker]);
+         workerErrors[worker] += caseError(i, workerContexts[worker]);
+      }
+
+      return;
+   }
+
+   /*
+    * applyGradient subtracts the training factor times a given worker's gradient from the weights, then clears the 
+    * gradient. Only lock-free epochs call it, so there is never an optimizer.
+    */
+   private void applyGradient(int worker)
+   {
+      for (int layer = 0; layer < network.layers - 1; layer++)
+      {
+         double layerWeights[] = network.weights[layer];
+         double gradient[] = gradients[worker][layer];
+
+         for (int w = 0; w < layerWeights.length; w++)
+         {
+            layerWeights[w] -= trainingFactor * gradient[w];
+            gradient[w] = 0.0;
+         }
+      }
+
+      return;
+   }  // private void applyGradient(int worker)
+
+   /*
+    * applyGradients writes each of the network's weights minus the training factor times the sum of the first given 
+    * number of workers' gradients into a given set of weights, which may be the network's own, then clears the 
+    * gradients. If an optimizer is set, it steps from the summed gradient instead, which is the first worker's 
+    * gradient as it is when there is only one worker. Each weight's gradients are added in worker order, and the 
+    * weights are split into blocks of WEIGHT_BLOCK that the common fork-join pool updates at the same time, except 
+    * in a layer of one block, which is updated on this thread.
+    */
+   private void applyGradients(int workers, double newWeights[][])
+   {
+      if (optimizer != null)
+         optimizer.nextStep();
+
+      for (int layer = 0; layer < network.layers - 1; layer++)
+      {
+         int m = layer;
+         int length = network.weights[m].length;
+         int blocks = (length + WEIGHT_BLOCK - 1) / WEIGHT_BLOCK;
+
+         if (blocks <= 1)                                         // A single block needs no other threads
+            applyBlock(m, 0, length, workers, newWeights[m]);
+         else
+            IntStream.range(0, blocks).parallel().forEach(block -> 
+               applyBlock(m, block * WEIGHT_BLOCK, Math.min((block + 1) * WEIGHT_BLOCK, length), workers, newWeights[m]));
+      }
+
+      return;
+   }  // private void applyGradients(int workers, double newWeights[][])
+
+   /*
+    * applyBlock writes weights first through last - 1 of weight layer m, minus the training factor times the sum of 
+    * the first given number of workers' gradients, into a given weight layer, or steps them as the optimizer does if 
+    * one is set, then clears their gradients.
+    */
+   private void applyBlock(int m, int first, int last, int workers, double target[])
+   {
+      double layerWeights[] = network.weights[m];
+
+      for (int w = first; w < last && (optimizer == null || workers > 1); w++)
+      {
+         double sum = 0.0;
+         for (int worker = 0; worker < workers; worker++)
+         {
+            sum += gradients[worker][m][w];
+            gradients[worker][m][w] = 0.0;
+         }
+         if (optimizer == null)
+            target[w] = layerWeights[w] - trainingFactor * sum;
+         else
+            gradients[0][m][w] = sum;                     // Kept for the optimizer
+      }
+
+      if (optimizer != null)
+      {
+         optimizer.update(m, layerWeights, gradients[0][m], target, first, last, trainingFactor);
+         Arrays.fill(gradients[0][m], first, last, 0.0);
+      }
+
+      return;
+   }  // private void applyBlock(int m, int first, int last, int workers, double target[])
+
+   /*
+    * saveWeights copies the network's weights into the saved weights, split into blocks of WEIGHT_BLOCK that the 
+    * common fork-join pool copies at the same time. A layer of one block is copied on this thread, allocating nothing.
+    */
+   private void saveWeights()
+   {
+      for (int layer = 0; layer < network.layers - 1; layer++)
+      {
+         double layerWeights[] = network.weights[layer];
+         double saved[] = savedWeights[layer];
+         int blocks = (layerWeights.length + WEIGHT_BLOCK - 1) / WEIGHT_BLOCK;
+
+         if (blocks <= 1)                                         // A single block needs no other threads
+            System.arraycopy(layerWeights, 0, saved, 0, layerWeights.length);
+         else
+            IntStream.range(0, blocks).parallel().forEach(block -> 
+               System.arraycopy(layerWeights, block * WEIGHT_BLOCK, saved, block * WEIGHT_BLOCK, 
+                                Math.min(WEIGHT_BLOCK, layerWeights.length - block * WEIGHT_BLOCK)));
+      }
+
+      return;
+   }  // private void saveWeights()
+
+   /*
+    * swapWeights trades the network's weights with the saved weights by reference, copying nothing.
+    */
+   private void swapWeights()
+   {
+      double kept[][] = network.weights;
+
+      network.setWeights(savedWeights);
+      savedWeights = kept;
+
+      return;
+   }
+
+   /*
+    * initWorkers creates a context for each of WORKERS workers and, if epochs step from gradients, a gradient for 
+    * each piece a step is split into, along with the optimizer's state if one is set. A minibatch step is split into 
+    * at most one piece per training case, so one-case steps, as an optimizer alone gives, keep a single gradient. 
+    * Lock-free epochs split the training set, so they keep a gradient per worker that has cases. The contexts are 
+    * created again if the network's layers have changed since, and each gradient layer is created again if its 
+    * weight layer has changed size, as pruning does.
+    */
+   private void initWorkers()
+   {
+      if (workerContexts == null || !Arrays.equals(workerNodes, network.nodesInLayer))
+      {
+         workerNodes = network.nodesInLayer.clone();
+         workerContexts = new EvalContext[WORKERS];
+         for (int worker = 0; worker < WORKERS; worker++)
+            workerContexts[worker] = network.newContext();
+         workerErrors = new double[WORKERS];
+         gradients = null;
+      }
+
+      if (minibatch() > 0)
+      {
+         int pieces = Math.min(WORKERS, hogwild ? trainingCases : Math.min(minibatch(), trainingCases));
+
+         if (gradients == null || gradients.length != pieces)                 // One gradient per piece summed
+            gradients = new double[pieces][][];
+         for (int piece = 0; piece < pieces; piece++)                          // each shaped as the weights
+            gradients[piece] = Optimizer.fit(gradients[piece], network.weights);
+      }
+
+      if (optimizer != null)
+         optimizer.prepare(network.weights);
+
+      return;
+   }  // private void initWorkers()
+
+   /*
+    * setMinibatch sets the number of training cases whose gradients are summed into each step. Each step is split 
+    * into min(WORKERS, size) pieces, and each piece keeps a gradient as large as the weights, so a size of 1 keeps 
+    * just one. A size of 0, the default, steps on every training case in turn.
+    */
+   public void setMinibatch(int size)
+   {
+      batchSize = size;
+      return;
+   }
+
+   /*
+    * setHogwild turns lock-free parallel epochs on or off, as described in stepHogwild. Lock-free epochs cannot use 
+    * an optimizer, whose step count and remembered state would be updated by every worker at once, so turning them 
+    * on with an optimizer set throws an IllegalStateException.
+    */
+   public void setHogwild(boolean useHogwild)
+   {
+      if (useHogwild && optimizer != null)
+         throw new IllegalStateException(String.format("Lock-free epochs cannot use the %s optimizer", optimizer.name()));
+      hogwild = useHogwild;
+      return;
+   }
+
+   /*
+    * setOptimizer sets the rule that turns each step's summed gradient into changes to the weights, or null, the 
+    * default, to step as Network.step does. With an optimizer set, every epoch steps from gradients, one training 
+    * case per step unless a minibatch size is set. The training factor scales the optimizer's steps and adapts as 
+    * usual. Rolling back an epoch keeps what the optimizer remembers from it, which trains faster than starting the 
+    * optimizer over. An optimizer cannot be set while lock-free epochs are on, as setHogwild describes.
+    */
+   public void setOptimizer(Optimizer stepRule)
+   {
+      if (stepRule != null && hogwild)
+         throw new IllegalStateException(String.format("The %s optimizer cannot be used in lock-free epochs", stepRule.name()));
+      optimizer = stepRule;
+      return;
+   }
+
+   /*
+    * minibatch returns the number of training cases each step sums the gradients of: the minibatch size if set, 1 if 
+    * only an optimizer is set, and 0 if epochs step as Network.step does.
+    */
+   private int minibatch()
+   {
+      if (batchSize == 0 && optimizer != null)
+         return 1;
+      return batchSize;
+   }
+
+   /*
+    * setErrorEstimate turns error estimates on, as described in adaptiveImprove, with the training set evaluated 
+    * exactly at least every given number of epochs, or off if the period is 0, the default. The first epoch's estimate 
+    * is compared with the current error. While estimates are on, the error is only updated by exact evaluations, 
+    * which train makes before it stops.
+    */
+   public void setErrorEstimate(int period)
+   {
+      estimatePeriod = period;
+      lastEstimate = error;
+      return;
+   }
+
+   /*
+    * refreshError evaluates the training set exactly if the error was found before the current weights, which 
+    * happens after epochs accepted from their estimate.
+    */
+   private void refreshError()
+   {
+      if (errorStale)
+      {
+         error = calcError();
+         errorStale = false;
+      }
+      return;
+   }
+
+   /*
+    * printEstimates prints how many epochs were accepted from their estimated error alone, and how often the estimate 
+    * made the same decision as the exact error when both were found.
+    */
+   public void printEstimates()
+   {
+      System.out.println(String.format("Epochs accepted from estimates: %d of %d", estimatedEpochs, epochs));
+      System.out.println(String.format("Exact errors agreeing with their estimates: %d of %d", agreements, comparisons));
+      return;
+   }
+
+   /*
+    * printResults prints the network's results for each input-output pair, the training factor, and total error, 
+    * evaluated exactly if the weights came from an estimate.
     */
    public void printResults()
    {
+      refreshError();
       System.out.println();
       // for (int i = 0; i < trainingCases; i++)                              // For each training case
       // {
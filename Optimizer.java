@@ -0,0 +1,260 @@
+/*
+ * Authored by Bennett Liu on October 17th, 2026
+ *
+ * Optimizer.java defines the rules a NetworkTrainer can use to turn the summed error gradient of a step into changes
+ * to the weights. Each optimizer keeps whatever it remembers between steps in arrays laid out as the weights are,
+ * one per weight layer, so it updates every weight from its own gradient and state alone and any range of weights
+ * can be updated apart from the rest. Every rule scales its steps by the trainer's training factor, lambda.
+ *
+ * Contains the following methods:
+ *
+ * Method                  |  Description
+ * ------------------------|---------------------
+ * prepare                 |  Creates the optimizer's state for the given weights, keeping state that still fits.
+ * nextStep                |  Marks the start of a step, before any weights are updated.
+ * update                  |  Updates a range of one weight layer from its gradient.
+ * name                    |  Returns the name the optimizer is chosen by.
+ * forName                 |  Returns a new optimizer of the given name.
+ * fit                     |  Returns state arrays laid out as the given weights, reusing arrays that already fit.
+ *
+ * Name        |  Step for a weight w with gradient g
+ * ------------|---------------------
+ * sgd         |  w -= lambda * g
+ * momentum    |  v = MOMENTUM * v + g, w -= lambda * v
+ * nesterov    |  v = MOMENTUM * v + g, w -= lambda * (g + MOMENTUM * v)
+ * rmsprop     |  s = DECAY * s + (1 - DECAY) * g^2, w -= lambda * g / (sqrt(s) + EPSILON)
+ * adam        |  m = BETA1 * m + (1 - BETA1) * g, v = BETA2 * v + (1 - BETA2) * g^2,
+ *             |  w -= lambda * m' / (sqrt(v') + EPSILON), where m' and v' are corrected for starting at 0
+ */
+
+public interface Optimizer
+{
+   /*
+    * prepare creates the optimizer's state for a given set of weights, creating state again for any weight layer
+    * that has changed size since, as pruning does.
+    */
+   void prepare(double weights[][]);
+
+   /*
+    * nextStep marks the start of a step. It is called once per step, before update is called for any weight.
+    */
+   void nextStep();
+
+   /*
+    * update writes the new values of weights first through last - 1 of weight layer m into newWeights, which may be
+    * the weights themselves, given the layer's weights and summed gradient and lambda.
+    */
+   void update(int m, double weights[], double gradient[], double newWeights[], int first, int last, double lambda);
+
+   /*
+    * name returns the name by which the optimizer is chosen.
+    */
+   String name();
+
+   /*
+    * forName returns a new optimizer, with no steps taken, of a given name.
+    */
+   static Optimizer forName(String name)
+   {
+      switch (name)
+      {
+         case "sgd":
+            return new SGD();
+         case "momentum":
+            return new Momentum(false);
+         case "nesterov":
+            return new Momentum(true);
+         case "rmsprop":
+            return new RMSProp();
+         case "adam":
+            return new Adam();
+         default:
+            throw new IllegalArgumentException(String.format("Unknown optimizer %s", name));
+      }
+   }  // static Optimizer forName(String name)
+
+   /*
+    * fit returns state laid out as a given set of weights, reusing each array of given state that is still the size
+    * of its weight layer and creating zeroed arrays for the rest.
+    */
+   static double[][] fit(double state[][], double weights[][])
+   {
+      if (state == null || state.length != weights.length)
+         state = new double[weights.length][];
+      for (int m = 0; m < weights.length; m++)
+      {
+         if (state[m] == null || state[m].length != weights[m].length)
+            state[m] = new double[weights[m].length];
+      }
+      return state;
+   }
+
+   /*
+    * SGD is steepest descent, the rule Network.step follows, and remembers nothing.
+    */
+   final class SGD implements Optimizer
+   {
+      public void prepare(double weights[][])
+      {
+         return;
+      }
+
+      public void nextStep()
+      {
+         return;
+      }
+
+      public void update(int m, double weights[], double gradient[], double newWeights[], int first, int last, double lambda)
+      {
+         for (int w = first; w < last; w++)
+            newWeights[w] = weights[w] - lambda * gradient[w];
+         return;
+      }
+
+      public String name()
+      {
+         return "sgd";
+      }
+   }  // final class SGD implements Optimizer
+
+   /*
+    * Momentum steps along a velocity that sums the gradients of earlier steps, each step's share decaying by
+    * MOMENTUM, so steps speed up along directions the gradient keeps and cancel along ones it flips. The Nesterov
+    * variant steps as if the velocity had already been applied once more.
+    */
+   final class Momentum implements Optimizer
+   {
+      static final double MOMENTUM = 0.9;    // The share of the velocity kept from one step to the next
+
+      boolean nesterov;                      // Whether to look ahead along the velocity, as Nesterov does
+      double velocity[][];                   // The velocity of [layer][weight]
+
+      Momentum(boolean useNesterov)
+      {
+         nesterov = useNesterov;
+      }
+
+      public void prepare(double weights[][])
+      {
+         velocity = Optimizer.fit(velocity, weights);
+         return;
+      }
+
+      public void nextStep()
+      {
+         return;
+      }
+
+      public void update(int m, double weights[], double gradient[], double newWeights[], int first, int last, double lambda)
+      {
+         double v[] = velocity[m];
+
+         for (int w = first; w < last; w++)
+         {
+            v[w] = MOMENTUM * v[w] + gradient[w];
+            if (nesterov)
+               newWeights[w] = weights[w] - lambda * (gradient[w] + MOMENTUM * v[w]);
+            else
+               newWeights[w] = weights[w] - lambda * v[w];
+         }
+         return;
+      }
+
+      public String name()
+      {
+         return nesterov ? "nesterov" : "momentum";
+      }
+   }  // final class Momentum implements Optimizer
+
+   /*
+    * RMSProp divides each weight's gradient by a running root mean square of its recent gradients, so every weight
+    * steps by about lambda whatever the scale of its gradient.
+    */
+   final class RMSProp implements Optimizer
+   {
+      static final double DECAY = 0.9;       // The share of the mean square kept from one step to the next
+      static final double EPSILON = 1.0e-8;  // Keeps the step finite for weights whose gradient has stayed 0
+
+      double meanSquare[][];                 // The running mean square gradient of [layer][weight]
+
+      public void prepare(double weights[][])
+      {
+         meanSquare = Optimizer.fit(meanSquare, weights);
+         return;
+      }
+
+      public void nextStep()
+      {
+         return;
+      }
+
+      public void update(int m, double weights[], double gradient[], double newWeights[], int first, int last, double lambda)
+      {
+         double s[] = meanSquare[m];
+
+         for (int w = first; w < last; w++)
+         {
+            s[w] = DECAY * s[w] + (1.0 - DECAY) * gradient[w] * gradient[w];
+            newWeights[w] = weights[w] - lambda * gradient[w] / (Math.sqrt(s[w]) + EPSILON);
+         }
+         return;
+      }
+
+      public String name()
+      {
+         return "rmsprop";
+      }
+   }  // final class RMSProp implements Optimizer
+
+   /*
+    * Adam steps along a running mean of each weight's gradients, divided by the root of a running mean of their
+    * squares. Both means start at 0, so they are divided by the share of their weight that earlier steps have
+    * filled, which matters only for the first few hundred steps.
+    */
+   final class Adam implements Optimizer
+   {
+      static final double BETA1 = 0.9;       // The share of the mean gradient kept from one step to the next
+      static final double BETA2 = 0.999;     // The share of the mean square gradient kept from one step to the next
+      static final double EPSILON = 1.0e-8;  // Keeps the step finite for weights whose gradient has stayed 0
+
+      double mean[][];                       // The running mean gradient of [layer][weight]
+      double meanSquare[][];                 // The running mean square gradient of [layer][weight]
+      int steps;                             // The number of steps taken
+      double correction1;                    // 1 - BETA1^steps, the filled share of the mean
+      double correction2;                    // 1 - BETA2^steps, the filled share of the mean square
+
+      public void prepare(double weights[][])
+      {
+         mean = Optimizer.fit(mean, weights);
+         meanSquare = Optimizer.fit(meanSquare, weights);
+         return;
+      }
+
+      public void nextStep()
+      {
+         steps++;
+         correction1 = 1.0 - Math.pow(BETA1, steps);
+         correction2 = 1.0 - Math.pow(BETA2, steps);
+         return;
+      }
+
+      public void update(int m, double weights[], double gradient[], double newWeights[], int first, int last, double lambda)
+      {
+         double mw[] = mean[m];
+         double vw[] = meanSquare[m];
+
+         for (int w = first; w < last; w++)
+         {
+            mw[w] = BETA1 * mw[w] + (1.0 - BETA1) * gradient[w];
+            vw[w] = BETA2 * vw[w] + (1.0 - BETA2) * gradient[w] * gradient[w];
+            newWeights[w] = weights[w] - lambda * (mw[w] / correction1) / (Math.sqrt(vw[w] / correction2) + EPSILON);
+         }
+         return;
+      }
+
+      public String name()
+      {
+         return "adam";
+      }
+   }  // final class Adam implements Optimizer
+}  // public interface Optimizer
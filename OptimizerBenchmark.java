@@ -0,0 +1,104 @@
+/*
+ * Authored by Bennett Liu on October 17th, 2026
+ *
+ * The OptimizerBenchmark class contains a main function that measures how long each optimizer takes to train a
+ * network to a target error, the time to accuracy, on three workloads: XOR, the 10 x 10 image BMPNet learns to
+ * reproduce, and the five SmallGrayBMP finger images Fingers classifies. For each workload, every optimizer trains the
+ * same seeded network with adaptive training, and the time, epochs and final error of each are printed side by side.
+ * Images are read when present and made up at random otherwise. The Fingers network is narrowed from 5000 nodes per
+ * hidden layer to FINGERS_HIDDEN for time, not memory: at full size an epoch takes about 2 seconds on one core, so
+ * 2000 epochs for each of six optimizers would take hours, while an adam trainer holds only the weights, the saved
+ * weights, one gradient and its two state arrays, about 1.5 GB. Image pels, which getPels gives from 1 to 2, are
+ * moved to 0 to 1 where they are outputs so that the sigmoid can reach them.
+ */
+
+import java.io.*;
+import java.util.*;
+import java.util.function.*;
+
+public class OptimizerBenchmark
+{
+   static final String OPTIMIZERS[] = {"none", "sgd", "momentum", "nesterov", "rmsprop", "adam"};
+   static final double LAMBDAS[] = {1.0, 1.0, 0.1, 0.1, 0.001, 0.001};   // The initial training factor of each
+   static final double ADAPT = 1.1;            // The adaptive training constant
+   static final double MIN_LAMBDA = 1.0e-9;    // The training factor below which training stops
+   static final long SEED = 1;                 // The seed of every network's weights
+   static final int FINGERS_HIDDEN = 500;      // The number of nodes in each hidden layer of the Fingers network
+
+   public static void main(String[] args)
+   {
+      double xorInputs[][] = {{0, 0}, {0, 1}, {1, 0}, {1, 1}};
+      double xorOutputs[][] = {{0}, {1}, {1}, {0}};
+      run("XOR", () -> new Network(2, new int[]{5}, 1, -1, 1, SEED), xorInputs, xorOutputs, 0.001, 100000);
+
+      double image[] = loadImage("10x10.bmp", 100);
+      double imageOutput[] = new double[image.length];
+      for (int i = 0; i < image.length; i++)
+         imageOutput[i] = image[i] - 1.0;
+      run("BMPNet", () -> new Network(100, new int[]{20}, 100, -1, 1, SEED), new double[][]{image},
+          new double[][]{imageOutput}, 0.01, 100000);
+
+      double fingerInputs[][] = new double[5][];
+      double fingerOutputs[][] = new double[5][1];
+      for (int j = 1; j <= 5; j++)
+      {
+         fingerInputs[j - 1] = loadImage("SmallGrayBMP/" + j + "_1.bmp", 2500);
+         fingerOutputs[j - 1][0] = j / 5.0;
+      }
+      run("Fingers", () -> new Network(2500, new int[]{FINGERS_HIDDEN, FINGERS_HIDDEN}, 1, -0.1, 0.1, SEED),
+          fingerInputs, fingerOutputs, 0.001, 2000);
+
+      return;
+   }  // public static void main(String[] args)
+
+   /*
+    * loadImage returns the pels of a given bitmap as read by PelGetter, or a given number of random pels in getPels'
+    * range if the file is missing.
+    */
+   private static double[] loadImage(String fileName, int pels)
+   {
+      if (new File(fileName).exists())
+         return new PelGetter().getPels(fileName);
+
+      System.out.println(String.format("%s not found, using a random image", fileName));
+      Random random = new Random(fileName.hashCode());
+      double image[] = new double[pels];
+      for (int k = 0; k < pels; k++)
+         image[k] = 1.0 + random.nextDouble();
+
+      return image;
+   }  // private static double[] loadImage(String fileName, int pels)
+
+   /*
+    * run trains a network from a given maker, which gives the same weights every time, on a given training set with 
+    * each optimizer in turn, until the error falls below a given target or a given number of epochs pass. It then 
+    * prints each optimizer's time, epochs and error.
+    */
+   private static void run(String name, Supplier<Network> maker, double inputs[][], double outputs[][], 
+                           double targetError, int maxEpochs)
+   {
+      String results[] = new String[OPTIMIZERS.length];
+
+      for (int k = 0; k < OPTIMIZERS.length; k++)
+      {
+         NetworkTrainer trainer = new NetworkTrainer(maker.get(), inputs, outputs);
+         if (!OPTIMIZERS[k].equals("none"))
+            trainer.setOptimizer(Optimizer.forName(OPTIMIZERS[k]));
+
+         long start = System.nanoTime();
+         trainer.train(LAMBDAS[k], ADAPT, maxEpochs, targetError, MIN_LAMBDA, 0, 0);
+         double time = (System.nanoTime() - start) / 1e6;
+
+         results[k] = String.format("%-9s %-8s %10.1f ms %8d epochs   error %.6f", OPTIMIZERS[k],
+                                    (trainer.error < targetError) ? "reached" : "missed", time, trainer.epochs,
+                                    trainer.error);
+      }  // for (int k = 0; k < OPTIMIZERS.length; k++)
+
+      System.out.println(String.format("%s, target error %f:", name, targetError));
+      for (String result : results)
+         System.out.println(result);
+      System.out.println();
+
+      return;
+   }  // private static void run(String name, Supplier<Network> maker, double inputs[][], double outputs[][], double targetError, int maxEpochs)
+}  // public class OptimizerBenchmark
@@ -568,6 +568,35 @@ public class PelGetter
       return d;
    }
 
+   /*
+    * getBits reads a bitmap as getPels does and packs it into a bitset for Network.evalBits, where pel i is bit i % 64 
+    * of word i / 64 and is set when the pel is ink, closer to black than to white. Scans of dark glyphs on a white 
+    * background are mostly white, so setting only the ink keeps the bitset sparse and evalBits and stepBits fast.
+    * Bits give inputs of 0 and 1, not the values near 1 and 2 that getPels gives, so a network trained on getPels 
+    * cannot be fed getBits, and the other way round.
+    */
+   public long[] getBits(String inFileName)
+   {
+      return getBits(inFileName, false);
+   }
+
+   /*
+    * getBits reads a bitmap as the other getBits does, setting the bits of white pels instead of black ones if told 
+    * to, for images of light marks on a dark background.
+    */
+   public long[] getBits(String inFileName, boolean setWhite)
+   {
+      double d[] = getPels(inFileName);
+      long bits[] = new long[(d.length + 63) / 64];
+
+      for (int i = 0; i < d.length; i++)
+      {
+         if ((d[i] > 1.5) == setWhite)     // getPels maps black to 1 and white to 2
+            bits[i / 64] |= 1L << (i % 64);
+      }
+      return bits;
+   }
+
    public void makeBMP(double[] d, String outFileName)
    {
       PelGetter dibdumper = new PelGetter();
@@ -0,0 +1,163 @@
+/*
+ * Authored by Bennett Liu on October 17th, 2026
+ *
+ * PoolLayer.java describes a max pooling layer. Its source nodes are an image of some channels, each a grid of pels
+ * stored row by row, and each destination pel is the largest of a square block of source pels in the same channel.
+ * Blocks do not overlap, and pels past the last whole block are left out. A pooling layer has no weights, and when
+ * training, omega passes back only to the largest pel of each block. Its destination layer should use the linear
+ * threshold function so the largest pel passes through unchanged.
+ *
+ * Contains the following methods:
+ *
+ * Method                  |  Description
+ * ------------------------|---------------------
+ * PoolLayer               |  A constructor for creating a PoolLayer, given the source image's shape and block size.
+ * largest                 |  Returns the source node of the largest pel in one destination pel's block.
+ * dot                     |  Returns the largest pel in one destination pel's block.
+ * backprop                |  Passes one destination pel's psi back to the largest pel in its block.
+ * update                  |  Does nothing, as there are no weights.
+ * gradient                |  Passes one destination pel's psi back to the largest pel in its block, if wanted.
+ * connections             |  Returns the number of comparisons evaluating the layer takes.
+ * sharesWeights           |  Returns false, as there are no weights.
+ * toDense                 |  Throws, as taking the largest pel is not a weighted sum.
+ * options                 |  Returns the keyword line describing the layer.
+ * writeWeights            |  Writes nothing.
+ * readWeights             |  Reads nothing.
+ */
+
+import java.util.*;
+import java.io.*;
+
+public class PoolLayer implements Layer
+{
+   int channels;              // The number of image channels
+   int height;                // The number of rows of pels in each source channel
+   int width;                 // The number of pels in each row of each source channel
+   int size;                  // The number of rows and columns of source pels in each block
+   int outHeight;             // The number of rows of pels in each destination channel
+   int outWidth;              // The number of pels in each row of each destination channel
+
+   /*
+    * The PoolLayer constructor creates a PoolLayer, given the number of channels, the source height and width, and
+    * the block size.
+    */
+   public PoolLayer(int imageChannels, int sourceHeight, int sourceWidth, int blockSize)
+   {
+      channels = imageChannels;
+      height = sourceHeight;
+      width = sourceWidth;
+      size = blockSize;
+      outHeight = height / size;
+      outWidth = width / size;
+
+      return;
+   }
+
+   /*
+    * largest returns the source node holding the largest pel of a given destination pel's block, the first one if
+    * several are equal.
+    */
+   public int largest(int row, double activations[])
+   {
+      int c = row / (outHeight * outWidth);
+      int y = (row / outWidth) % outHeight;
+      int x = row % outWidth;
+      int best = (c * height + y * size) * width + x * size;
+
+      for (int dy = 0; dy < size; dy++)
+      {
+         int source = (c * height + y * size + dy) * width + x * size;
+         for (int dx = 0; dx < size; dx++)
+         {
+            if (activations[source + dx] > activations[best])
+               best = source + dx;
+         }
+      }
+
+      return best;
+   }  // public int largest(int row, double activations[])
+
+   /*
+    * dot returns the largest pel of a given destination pel's block, standing in for a dot product.
+    */
+   public double dot(double weights[], int row, double activations[])
+   {
+      return activations[largest(row, activations)];
+   }
+
+   /*
+    * backprop adds psi to the omega of the largest pel of a given destination pel's block.
+    */
+   public void backprop(double omega[], double weights[], int row, double activations[], double psi, double lambda)
+   {
+      omega[largest(row, activations)] += psi;
+      return;
+   }
+
+   /*
+    * update does nothing, as a pooling layer has no weights to train.
+    */
+   public void update(double weights[], int row, double activations[], double psi, double lambda)
+   {
+      return;
+   }
+
+   /*
+    * gradient adds psi to the omega of the largest pel of a given destination pel's block if omega is given, as there
+    * are no weights to find the gradient of.
+    */
+   public void gradient(double omega[], double weights[], double gradient[], int row, double activations[], double psi)
+   {
+      if (omega != null)
+         omega[largest(row, activations)] += psi;
+      return;
+   }
+
+   /*
+    * connections returns the number of source pels compared in one evaluation.
+    */
+   public long connections()
+   {
+      return (long) channels * outHeight * outWidth * size * size;
+   }
+
+   /*
+    * sharesWeights returns false, as a pooling layer has no weights.
+    */
+   public boolean sharesWeights()
+   {
+      return false;
+   }
+
+   /*
+    * toDense throws an UnsupportedOperationException, as taking the largest pel is not a weighted sum.
+    */
+   public double[] toDense(double weights[])
+   {
+      throw new UnsupportedOperationException("A max pooling layer has no fully connected equivalent");
+   }
+
+   /*
+    * options returns the keyword line describing weight layer m as this pooling layer.
+    */
+   public String options(int m)
+   {
+      return String.format("pool %d %d %d %d %d", m, channels, height, width, size);
+   }
+
+   /*
+    * writeWeights writes nothing, as a pooling layer has no weights.
+    */
+   public void writeWeights(BufferedWriter writer, double weights[]) throws IOException
+   {
+      return;
+   }
+
+   /*
+    * readWeights reads nothing and returns no weights.
+    */
+   public double[] readWeights(Scanner scanner)
+   {
+      return new double[0];
+   }
+}  // public class PoolLayer
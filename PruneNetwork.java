@@ -0,0 +1,105 @@
+/*
+ * Authored by Bennett Liu on October 17th, 2026
+ *
+ * The PruneNetwork class contains a main function that imports a trained Network from a file and prunes the smallest
+ * weights of each weight layer, either below a magnitude threshold or down to a target share of removed weights. It
+ * can then fine-tune the pruned network on a training set, during which removed weights stay removed, and exports it.
+ */
+
+import java.util.*;
+import java.io.*;
+
+public class PruneNetwork
+{
+   public static void main(String[] args)
+   {
+      int trainingCases;                     // The number of fine-tuning cases, 0 to skip fine-tuning
+      double trainingInputs[][];             // The inputs for each fine-tuning case
+      double trainingOutputs[][];            // The outputs for each fine-tuning case
+
+      Scanner in = new Scanner(System.in);   // Create scanner to take input from console
+
+      // Import network from file
+      System.out.println("Enter the file that you'd like to import your network from: ");
+      String fileName = in.next();
+      Network network = new Network(new File(fileName));
+
+      // Prune each weight layer
+      System.out.println("Prune by magnitude threshold (t) or by share of weights removed (s): ");
+      boolean byThreshold = in.next().equals("t");
+      for (int layer = 0; layer < network.layers - 1; layer++)
+      {
+         int before = network.weights[layer].length;
+
+         if (byThreshold)
+         {
+            System.out.println(String.format("Smallest weight magnitude kept in weight layer %d: ", layer));
+            network.prune(layer, in.nextDouble());
+         }
+         else
+         {
+            System.out.println(String.format("Share of weights removed from weight layer %d (0 to 1): ", layer));
+            network.pruneToSparsity(layer, in.nextDouble());
+         }
+         System.out.println(String.format("Weight layer %d kept %d of %d weights", layer, network.weights[layer].length,
+                                          before));
+      }  // for (int layer = 0; layer < network.layers - 1; layer++)
+
+      /*
+       * Read fine-tuning case inputs, namely:
+       *
+       * The number of fine-tuning cases
+       * Each case's inputs
+       * Each case's outputs
+       */
+      System.out.println("How many fine-tuning cases (0 to skip fine-tuning): ");
+      trainingCases = in.nextInt();
+
+      if (trainingCases > 0)
+      {
+         trainingInputs = new double[trainingCases][network.inputs];
+         trainingOutputs = new double[trainingCases][network.outputs];
+         for (int i = 1; i <= trainingCases; i++)
+         {
+            System.out.println(String.format("Training Case %d", i));
+            for (int j = 1; j <= network.inputs; j++)
+            {
+               System.out.println(String.format("Input %d:", j));
+               trainingInputs[i - 1][j - 1] = in.nextDouble();
+            }
+            for (int j = 1; j <= network.outputs; j++)
+            {
+               System.out.println(String.format("Output %d:", j));
+               trainingOutputs[i - 1][j - 1] = in.nextDouble();
+            }
+         }  // for (int i = 1; i <= trainingCases; i++)
+
+         NetworkTrainer trainer = new NetworkTrainer(network, trainingInputs, trainingOutputs);
+         trainer.printResults();                            // Evaluate the pruned network before fine-tuning
+
+         System.out.println("Initial Training Factor (Lambda): ");
+         double trainingFactor = in.nextDouble();
+         System.out.println("Adaptive Training Constant: ");
+         double adaptiveConstant = in.nextDouble();
+         System.out.println("Training Step Limit: ");
+         int stepLimit = in.nextInt();
+         System.out.println("Training Error Limit: ");
+         double errorLimit = in.nextDouble();
+         System.out.println("Training Factor Limit: ");
+         double trainingFactorLimit = in.nextDouble();
+
+         trainer.train(trainingFactor, adaptiveConstant, stepLimit, errorLimit, trainingFactorLimit, 0, 0);
+         trainer.printResults();                            // Evaluate the fine-tuned network
+         network = trainer.getNetwork();
+      }  // if (trainingCases > 0)
+
+      // Save network to file
+      System.out.println("Enter the file that you'd like the pruned network to be saved in: ");
+      String outputFileName = in.next();
+      network.exportNet(outputFileName);
+
+      in.close();          // Close scanner
+
+      return;
+   } // public static void main(String[] args)
+} // public class PruneNetwork
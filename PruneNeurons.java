@@ -0,0 +1,100 @@
+/*
+ * Authored by Bennett Liu on October 17th, 2026
+ *
+ * The PruneNeurons class contains a main function that imports a trained Network from a file, measures how much each
+ * hidden node contributes to the next layer over a set of inputs, and removes the weakest nodes of each hidden layer.
+ * The smaller network stays fully connected and is exported, after reporting how far its outputs moved on the inputs.
+ */
+
+import java.util.*;
+import java.io.*;
+
+public class PruneNeurons
+{
+   public static void main(String[] args)
+   {
+      int testCases;                         // The number of cases contributions are measured over
+      double testInputs[][];                 // The inputs for each case
+
+      Scanner in = new Scanner(System.in);   // Create scanner to take input from console
+
+      // Import network from file, keeping an untouched copy to compare against
+      System.out.println("Enter the file that you'd like to import your network from: ");
+      String fileName = in.next();
+      Network network = new Network(new File(fileName));
+      Network original = new Network(new File(fileName));
+
+      /*
+       * Read test case inputs, namely:
+       *
+       * The number of test cases
+       * Each test case's inputs
+       */
+      System.out.println("How many test cases: ");
+      testCases = in.nextInt();
+
+      testInputs = new double[testCases][network.inputs];
+      for (int i = 1; i <= testCases; i++)
+      {
+         System.out.println(String.format("Test Case %d", i));
+         for (int j = 1; j <= network.inputs; j++)
+         {
+            System.out.println(String.format("Input %d:", j));
+            testInputs[i - 1][j - 1] = in.nextDouble();
+         }
+      }
+
+      // Remove the weakest nodes of each hidden layer
+      for (int layer = 1; layer < network.outputIndex; layer++)
+      {
+         double contributions[] = network.nodeContributions(layer, testInputs);
+         double sorted[] = contributions.clone();
+         Arrays.sort(sorted);
+
+         System.out.println(String.format("Hidden layer %d has %d nodes, contributing from %.15f to %.15f", layer,
+                                          contributions.length, sorted[0], sorted[sorted.length - 1]));
+         System.out.println(String.format("How many nodes to keep in hidden layer %d: ", layer));
+         int kept = Math.max(1, Math.min(in.nextInt(), contributions.length));
+
+         double cutoff = sorted[contributions.length - kept];            // Keep nodes at or above the kept-th largest
+         boolean keep[] = new boolean[contributions.length];
+         int keeping = 0;
+         for (int i = contributions.length - 1; i >= 0; i--)
+         {
+            keep[i] = contributions[i] > cutoff;
+            if (keep[i])
+               keeping++;
+         }
+         for (int i = 0; i < contributions.length && keeping < kept; i++)     // Fill the rest from ties at the cutoff
+         {
+            if (contributions[i] == cutoff)
+            {
+               keep[i] = true;
+               keeping++;
+            }
+         }
+
+         network.removeNodes(layer, keep);
+      }  // for (int layer = 1; layer < network.outputIndex; layer++)
+
+      // Report how far the outputs moved
+      double largest = 0.0;
+      double originalOutputs[][] = original.evalBatch(testInputs);
+      double prunedOutputs[][] = network.evalBatch(testInputs);
+      for (int i = 0; i < testCases; i++)
+      {
+         for (int j = 0; j < network.outputs; j++)
+            largest = Math.max(largest, Math.abs(originalOutputs[i][j] - prunedOutputs[i][j]));
+      }
+      System.out.println(String.format("Largest output difference: %.15f", largest));
+
+      // Save network to file
+      System.out.println("Enter the file that you'd like the pruned network to be saved in: ");
+      String outputFileName = in.next();
+      network.exportNet(outputFileName);
+
+      in.close();          // Close scanner
+
+      return;
+   } // public static void main(String[] args)
+} // public class PruneNeurons
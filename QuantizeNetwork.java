@@ -0,0 +1,58 @@
+/*
+ * Authored by Bennett Liu on October 17th, 2026
+ * 
+ * The QuantizeNetwork class contains a main function that imports a trained Network from a file, quantizes it into a 
+ * QuantizedNetwork and exports it. It then takes in test cases' inputs and reports how closely the quantized network 
+ * reproduces the original network's outputs on them.
+ */
+
+import java.util.*;
+import java.io.*;
+
+public class QuantizeNetwork 
+{
+   public static void main(String[] args) 
+   {
+      int testCases;                         // The number of test cases
+      double testInputs[][];                 // The inputs for each test case
+
+      Scanner in = new Scanner(System.in);   // Create scanner to take input from console 
+
+      // Import network from file
+      System.out.println("Enter the file that you'd like to import your network from: ");
+      String fileName = in.next();
+      Network network = new Network(new File(fileName));
+
+      // Quantize and export network
+      QuantizedNetwork quantized = new QuantizedNetwork(network);
+      System.out.println("Enter the file that you'd like the quantized network to be saved in: ");
+      String outputFileName = in.next();
+      quantized.exportNet(outputFileName);
+
+      /*
+       * Read test case inputs, namely:
+       * 
+       * The number of test cases
+       * Each test case's inputs
+       */
+      System.out.println("How many test cases: ");
+      testCases = in.nextInt();
+
+      testInputs = new double[testCases][network.inputs];
+      for (int i = 1; i <= testCases; i++) 
+      {
+         System.out.println(String.format("Test Case %d", i));
+         for (int j = 1; j <= network.inputs; j++)
+         {
+            System.out.println(String.format("Input %d:", j));
+            testInputs[i - 1][j - 1] = in.nextDouble();
+         }
+      }
+
+      quantized.printAccuracy(network, testInputs);
+
+      in.close();          // Close scanner
+
+      return;
+   } // public static void main(String[] args)
+} // public class QuantizeNetwork
@@ -0,0 +1,271 @@
+/*
+ * Authored by Bennett Liu on October 17th, 2026
+ * 
+ * QuantizedNetwork.java implements an inference-only copy of a trained Network whose weights are stored as 8-bit 
+ * integers. Each destination node's row of weights has its own scale, chosen so that its largest weight maps to 
+ * 127. When evaluating, each layer's activations are also scaled into 8-bit integers, the dot products are summed as 
+ * integers, and the result is scaled back and passed through the layer's threshold function in floating point. The 
+ * model is 8 times smaller than the Network it came from and is saved in its own binary format.
+ * 
+ * Contains the following methods:
+ * 
+ * Method                  |  Description
+ * ------------------------|---------------------
+ * QuantizedNetwork        |  A constructor for quantizing a trained Network.
+ * QuantizedNetwork        |  A constructor for loading a QuantizedNetwork from a file.
+ * exportNet               |  Exports the QuantizedNetwork to a specified file.
+ * initActivationVals      |  Creates the activation and quantized activation arrays.
+ * quantizeActivations     |  Scales one layer's activations into 8-bit integers.
+ * eval                    |  Evaluates the network, given an array of inputs.
+ * printAccuracy           |  Compares the outputs with those of the original Network over a set of inputs.
+ */
+
+import java.io.*;
+
+public class QuantizedNetwork implements Evaluator
+{
+   static final int MAGIC = 0x514E4554;    // "QNET", the first four bytes of every quantized network file
+   static final int VERSION = 1;           // The version of the file format
+
+   int layers;                // The total number of layers
+   int nodesInLayer[];        // The number of nodes for [layer]
+   int inputs;                // The number of input nodes
+   int outputs;               // The number of output nodes
+   int outputIndex;           // The index of the output layer
+
+   byte weights[][];          // Quantized weight for [layer][rightNode * nodesInLayer[layer] + leftNode]
+   float scales[][];          // The value of one quantized step of the weights feeding [layer + 1][rightNode]
+   Activation activations[];  // The threshold function of the nodes in [layer], unused for the input layer
+
+   double activationVals[][]; // Activation value for [layer][node]
+   byte quantizedVals[][];    // Activation value for [layer][node], scaled into 8-bit integers
+   double activationScale;    // The value of one quantized step of the layer last passed to quantizeActivations
+
+   /*
+    * The QuantizedNetwork constructor quantizes the weights of a given trained Network row by row.
+    */
+   public QuantizedNetwork(Network network)
+   {
+      layers = network.layers;
+      nodesInLayer = network.nodesInLayer.clone();
+      inputs = network.inputs;
+      outputs = network.outputs;
+      outputIndex = network.outputIndex;
+      activations = network.activations.clone();
+
+      weights = new byte[layers - 1][];
+      scales = new float[layers - 1][];
+      for (int layer = 0; layer < layers - 1; layer++)
+      {
+         int sources = nodesInLayer[layer];
+         double dense[] = network.denseWeights(layer);                          // Pruned weights quantize to 0
+
+         weights[layer] = new byte[sources * nodesInLayer[layer + 1]];
+         scales[layer] = new float[nodesInLayer[layer + 1]];
+         for (int j = 0; j < nodesInLayer[layer + 1]; j++)                      // Each destination node's row
+         {
+            double largest = 0.0;
+            for (int i = 0; i < sources; i++)
+               largest = Math.max(largest, Math.abs(dense[j * sources + i]));
+
+            scales[layer][j] = (float) (largest / 127.0);
+            for (int i = 0; i < sources; i++)
+            {
+               if (scales[layer][j] > 0.0f)
+                  weights[layer][j * sources + i] = (byte) Math.round(dense[j * sources + i] / scales[layer][j]);
+            }
+         }  // for (int j = 0; j < nodesInLayer[layer + 1]; j++)
+      }  // for (int layer = 0; layer < layers - 1; layer++)
+
+      initActivationVals();
+      return;
+   }  // public QuantizedNetwork(Network network)
+
+   /*
+    * The QuantizedNetwork constructor loads a QuantizedNetwork from a file written by exportNet.
+    */
+   public QuantizedNetwork(File file)
+   {
+      try 
+      {
+         DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+
+         if (in.readInt() != MAGIC || in.readInt() != VERSION)
+            throw new IOException("Not a quantized network file");
+
+         layers = in.readInt();                                   // Number of layers
+         nodesInLayer = new int[layers];                          // Nodes in each layer
+         for (int i = 0; i < layers; i++)
+            nodesInLayer[i] = in.readInt();
+         inputs = nodesInLayer[0];
+         outputIndex = layers - 1;
+         outputs = nodesInLayer[outputIndex];
+
+         activations = new Activation[layers];                    // Threshold function of each layer
+         for (int layer = 1; layer < layers; layer++)
+            activations[layer] = Activation.forName(in.readUTF());
+
+         weights = new byte[layers - 1][];                        // Scales and weights of each layer
+         scales = new float[layers - 1][];
+         for (int layer = 0; layer < layers - 1; layer++)
+         {
+            scales[layer] = new float[nodesInLayer[layer + 1]];
+            for (int j = 0; j < nodesInLayer[layer + 1]; j++)
+               scales[layer][j] = in.readFloat();
+            weights[layer] = new byte[nodesInLayer[layer] * nodesInLayer[layer + 1]];
+            in.readFully(weights[layer]);
+         }
+
+         in.close();
+         initActivationVals();
+      }  // try
+      catch (Exception e)
+      {
+         System.out.println(String.format("Exception: QuantizedNetwork could not be intialized with file %s", file.getName()));
+      }
+
+      return;
+   }  // public QuantizedNetwork(File file)
+
+   /*
+    * exportNet writes the network to a provided file name in binary: the magic number and version, the number of 
+    * layers, the nodes in each layer, the name of each layer's threshold function, then for each weight layer its 
+    * row scales as floats followed by its weights as bytes, destination node major.
+    */
+   public void exportNet(String fileName)
+   {
+      try 
+      {
+         DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fileName)));
+
+         out.writeInt(MAGIC);
+         out.writeInt(VERSION);
+         out.writeInt(layers);
+         for (int i = 0; i < layers; i++)
+            out.writeInt(nodesInLayer[i]);
+         for (int layer = 1; layer < layers; layer++)
+            out.writeUTF(activations[layer].name());
+
+         for (int layer = 0; layer < layers - 1; layer++)
+         {
+            for (int j = 0; j < nodesInLayer[layer + 1]; j++)
+               out.writeFloat(scales[layer][j]);
+            out.write(weights[layer]);
+         }
+
+         out.close();
+      }  // try
+      catch (IOException e)
+      {
+         e.printStackTrace();
+      }
+
+      return;
+   }  // public void exportNet(String fileName)
+
+   /*
+    * initActivationVals creates the activation arrays and their quantized copies, sized exactly to each layer.
+    */
+   private void initActivationVals()
+   {
+      activationVals = new double[layers][];
+      quantizedVals = new byte[layers][];
+      for (int layer = 0; layer < layers; layer++)
+      {
+         activationVals[layer] = new double[nodesInLayer[layer]];
+         quantizedVals[layer] = new byte[nodesInLayer[layer]];
+      }
+      return;
+   }
+
+   /*
+    * quantizeActivations scales the activations of a given layer so that the largest maps to 127, rounds them into 
+    * quantizedVals, and records the value of one step in activationScale.
+    */
+   private void quantizeActivations(int layer)
+   {
+      double largest = 0.0;
+      for (int i = 0; i < nodesInLayer[layer]; i++)
+         largest = Math.max(largest, Math.abs(activationVals[layer][i]));
+
+      activationScale = largest / 127.0;
+      for (int i = 0; i < nodesInLayer[layer]; i++)
+         quantizedVals[layer][i] = (largest > 0.0) ? (byte) Math.round(activationVals[layer][i] / activationScale) : 0;
+
+      return;
+   }  // private void quantizeActivations(int layer)
+
+   /*
+    * eval evaluates and returns the output of the network, given an array of inputs. Each dot product is summed in 
+    * integers, which cannot overflow for layers of fewer than 133,000 nodes. Like Network's own context, the 
+    * activations are kept in the object, so one QuantizedNetwork should be evaluated by one thread at a time.
+    */
+   public double[] eval(double inputArray[])
+   {
+      for (int i = 0; i < inputs; i++)
+         activationVals[0][i] = inputArray[i];
+
+      for (int layer = 1; layer <= outputIndex; layer++)
+      {
+         int sources = nodesInLayer[layer - 1];
+         byte layerWeights[] = weights[layer - 1];
+         byte source[] = quantizedVals[layer - 1];
+
+         quantizeActivations(layer - 1);
+         for (int j = 0; j < nodesInLayer[layer]; j++)
+         {
+            int dotProduct = 0;
+            int offset = j * sources;                                      // Weights feeding node (layer, j) start here
+            for (int i = 0; i < sources; i++)
+               dotProduct += source[i] * layerWeights[offset + i];
+
+            activationVals[layer][j] = activations[layer].apply(dotProduct * activationScale * scales[layer - 1][j]);
+         }
+      }  // for (int layer = 1; layer <= outputIndex; layer++)
+
+      double results[] = new double[outputs];
+      System.arraycopy(activationVals[outputIndex], 0, results, 0, outputs);
+      return results;
+   }  // public double[] eval(double inputArray[])
+
+   /*
+    * printAccuracy evaluates both this network and the original Network it was quantized from on a given set of 
+    * inputs, then prints the largest and mean absolute differences between their outputs and the fraction of 
+    * inputs for which both networks pick the same largest output.
+    */
+   public void printAccuracy(Network original, double inputArrays[][])
+   {
+      double largest = 0.0;
+      double total = 0.0;
+      int agreements = 0;
+      double originalResults[][] = original.evalBatch(inputArrays);
+
+      for (int c = 0; c < inputArrays.length; c++)
+      {
+         double results[] = eval(inputArrays[c]);
+         int best = 0;
+         int originalBest = 0;
+
+         for (int j = 0; j < outputs; j++)
+         {
+            double difference = Math.abs(results[j] - originalResults[c][j]);
+            largest = Math.max(largest, difference);
+            total += difference;
+
+            if (results[j] > results[best])
+               best = j;
+            if (originalResults[c][j] > originalResults[c][originalBest])
+               originalBest = j;
+         }
+         if (best == originalBest)
+            agreements++;
+      }  // for (int c = 0; c < inputArrays.length; c++)
+
+      System.out.println(String.format("Cases compared: %d", inputArrays.length));
+      System.out.println(String.format("Largest output difference: %.15f", largest));
+      System.out.println(String.format("Mean output difference: %.15f", total / Math.max(1, inputArrays.length * outputs)));
+      System.out.println(String.format("Same largest output: %d/%d", agreements, inputArrays.length));
+
+      return;
+   }  // public void printAccuracy(Network original, double inputArrays[][])
+}  // public class QuantizedNetwork
@@ -0,0 +1,102 @@
+/*
+ * Authored by Bennett Liu on October 17th, 2026
+ * 
+ * ScalarKernels.java implements the Network inner loops as plain Java loops. These are the reference results that 
+ * other Kernels must reproduce.
+ */
+
+public class ScalarKernels implements Kernels
+{
+   /*
+    * dot returns the dot product of activations and a run of weights, summed from the first element to the last.
+    */
+   public double dot(double activations[], double weights[], int offset, int length)
+   {
+      double dotProduct = 0.0;
+
+      for (int j = 0; j < length; j++)
+         dotProduct += activations[j] * weights[offset + j];
+
+      return dotProduct;
+   }
+
+   /*
+    * backprop accumulates omega from a run of weights and then applies steepest descent to them.
+    */
+   public void backprop(double omega[], double weights[], int offset, double activations[], double psi, double lambda, int length)
+   {
+      for (int j = 0; j < length; j++)
+      {
+         omega[j] += psi * weights[offset + j];                      // Set omega for next round
+         weights[offset + j] -= lambda * activations[j] * psi;       // Update weights
+      }
+
+      return;
+   }
+
+   /*
+    * update applies steepest descent to a run of weights.
+    */
+   public void update(double weights[], int offset, double activations[], double psi, double lambda, int length)
+   {
+      for (int j = 0; j < length; j++)
+         weights[offset + j] -= lambda * activations[j] * psi;       // Update weights
+
+      return;
+   }
+
+   /*
+    * gradient accumulates omega, if given, and the gradient of a run of weights.
+    */
+   public void gradient(double omega[], double weights[], double gradient[], int offset, double activations[], double psi, int length)
+   {
+      if (omega != null)
+      {
+         for (int j = 0; j < length; j++)
+            omega[j] += psi * weights[offset + j];                   // Set omega for next round
+      }
+
+      for (int j = 0; j < length; j++)
+         gradient[offset + j] += activations[j] * psi;               // Accumulate the gradient
+
+      return;
+   }
+
+   /*
+    * dot returns the float dot product of activations and a run of weights, summed from the first element to the last.
+    */
+   public float dot(float activations[], float weights[], int offset, int length)
+   {
+      float dotProduct = 0.0f;
+
+      for (int j = 0; j < length; j++)
+         dotProduct += activations[j] * weights[offset + j];
+
+      return dotProduct;
+   }
+
+   /*
+    * backprop accumulates float omega from a run of weights and then applies steepest descent to them.
+    */
+   public void backprop(float omega[], float weights[], int offset, float activations[], float psi, float lambda, int length)
+   {
+      for (int j = 0; j < length; j++)
+      {
+         omega[j] += psi * weights[offset + j];                      // Set omega for next round
+         weights[offset + j] -= lambda * activations[j] * psi;       // Update weights
+      }
+
+      return;
+   }
+
+   /*
+    * update applies steepest descent to a run of float weights.
+    */
+   public void update(float weights[], int offset, float activations[], float psi, float lambda, int length)
+   {
+      for (int j = 0; j < length; j++)
+         weights[offset + j] -= lambda * activations[j] * psi;       // Update weights
+
+      return;
+   }
+}  // public class ScalarKernels
@@ -0,0 +1,101 @@
+/*
+ * Authored by Bennett Liu on October 17th, 2026
+ * 
+ * SigmoidComparison measures how far the tabulated sigmoid, Activation.FAST_SIGMOID, strays from the exact sigmoid. 
+ * It prints the largest difference between the two functions, then trains two copies of one randomized network on 
+ * the same training set, one with each function, and prints both training curves side by side along with the time 
+ * each network spent.
+ */
+
+import java.util.*;
+
+public class SigmoidComparison 
+{
+   public static void main(String[] args) 
+   {
+      int inputNodes = 25;                   // The number of inputs in the compared networks
+      int hiddenLayerNodes[] = {40, 20};     // The number of nodes in each hidden layer
+      int outputNodes = 5;                   // The number of outputs in the compared networks
+      int trainingCases = 200;               // The number of random training cases
+      int epochs = 500;                      // The number of passes over the training set
+      int printPeriod = 50;                  // The period of epochs at which both errors are printed
+      double lambda = 0.3;                   // The fixed training factor used by both networks
+
+      // Largest difference between the functions, sampled well past the table's range
+      double maxDifference = 0.0;
+      for (double x = -40.0; x <= 40.0; x += 1.0e-5)
+      {
+         double difference = Math.abs(Activation.FAST_SIGMOID.apply(x) - Activation.SIGMOID.apply(x));
+         maxDifference = Math.max(maxDifference, difference);
+      }
+      System.out.println(String.format("Largest difference between sigmoids: %.3e", maxDifference));
+
+      // Random training set, with the same seed every run
+      Random random = new Random(0);
+      double trainingInputs[][] = new double[trainingCases][inputNodes];
+      double trainingOutputs[][] = new double[trainingCases][outputNodes];
+      for (int i = 0; i < trainingCases; i++)
+      {
+         for (int j = 0; j < inputNodes; j++)
+            trainingInputs[i][j] = random.nextDouble();
+         for (int j = 0; j < outputNodes; j++)
+            trainingOutputs[i][j] = random.nextDouble();
+      }
+
+      // Two networks with identical weights, differing only in their sigmoid
+      Network exact = new Network(inputNodes, hiddenLayerNodes, outputNodes, -1.0, 1.0);
+      Network fast = new Network(inputNodes, hiddenLayerNodes, outputNodes, -1.0, 1.0);
+      double copiedWeights[][] = new double[exact.layers - 1][];
+      for (int layer = 0; layer < exact.layers - 1; layer++)
+         copiedWeights[layer] = Arrays.copyOf(exact.weights[layer], exact.weights[layer].length);
+      fast.setWeights(copiedWeights);
+      fast.setFastSigmoid(true);
+
+      long exactTime = 0;
+      long fastTime = 0;
+      System.out.println("Epoch    Exact Error          Fast Error           Difference");
+      for (int epoch = 1; epoch <= epochs; epoch++)
+      {
+         long start = System.nanoTime();
+         for (int i = 0; i < trainingCases; i++)
+            exact.step(trainingInputs[i], trainingOutputs[i], lambda);
+         double exactError = calcError(exact, trainingInputs, trainingOutputs);
+         long middle = System.nanoTime();
+         for (int i = 0; i < trainingCases; i++)
+            fast.step(trainingInputs[i], trainingOutputs[i], lambda);
+         double fastError = calcError(fast, trainingInputs, trainingOutputs);
+         long end = System.nanoTime();
+
+         exactTime += middle - start;
+         fastTime += end - middle;
+         if (epoch % printPeriod == 0)
+            System.out.println(String.format("%-8d %.15f  %.15f  %.3e", epoch, exactError, fastError, fastError - exactError));
+      }  // for (int epoch = 1; epoch <= epochs; epoch++)
+
+      System.out.println(String.format("Exact sigmoid: %d ms", exactTime / 1000000));
+      System.out.println(String.format("Fast sigmoid: %d ms", fastTime / 1000000));
+
+      return;
+   } // public static void main(String[] args)
+
+   /*
+    * calcError returns the total error of a network over a training set, halved as in NetworkTrainer.
+    */
+   private static double calcError(Network network, double inputs[][], double outputs[][])
+   {
+      double totalError = 0.0;
+      double diff;
+      double results[][] = network.evalBatch(inputs);
+
+      for (int i = 0; i < inputs.length; i++)
+      {
+         for (int j = 0; j < network.outputs; j++)
+         {
+            diff = outputs[i][j] - results[i][j];
+            totalError += diff * diff;
+         }
+      }
+
+      return totalError / 2.0;
+   }  // private static double calcError(Network network, double inputs[][], double outputs[][])
+} // public class SigmoidComparison
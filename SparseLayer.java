@@ -0,0 +1,279 @@
+/*
+ * Authored by Bennett Liu on October 17th, 2026
+ *
+ * SparseLayer.java describes which weights of a pruned weight layer remain, in compressed sparse row form. Row j lists
+ * the source nodes feeding destination node j in increasing order. The weights themselves stay in the network's
+ * weight array for the layer, which holds only the remaining weights in row order, so saving, rolling back and
+ * training weights work the same on sparse and dense layers.
+ *
+ * Contains the following methods:
+ *
+ * Method                  |  Description
+ * ------------------------|---------------------
+ * SparseLayer             |  A constructor for creating an empty SparseLayer, whose rows are filled in by readWeights.
+ * SparseLayer             |  A constructor for creating a SparseLayer keeping the dense weights of at least a given size.
+ * SparseLayer             |  A constructor for creating a SparseLayer keeping another's weights of at least a given size.
+ * gather                  |  Returns the remaining weights of a dense weight layer, in row order.
+ * dot                     |  Calculates the dot product of one row's weights and its source activations.
+ * backprop                |  Accumulates omega from one row's weights and applies steepest descent to them.
+ * update                  |  Applies steepest descent to one row's weights.
+ * gradient                |  Accumulates omega, if wanted, and the gradient of one row's weights.
+ * connections             |  Returns the number of remaining weights.
+ * sharesWeights           |  Returns false, as every remaining weight belongs to one row.
+ * toDense                 |  Returns the dense weight layer of the remaining weights, with pruned weights 0.
+ * options                 |  Returns the keyword line marking a weight layer as pruned.
+ * writeWeights            |  Writes each row's count, source nodes and weights.
+ * readWeights             |  Reads each row's count, source nodes and weights, filling in the rows.
+ */
+
+import java.util.*;
+import java.io.*;
+
+public class SparseLayer implements Layer
+{
+   int sources;               // The number of nodes in the layer the weights come from
+   int rowStart[];            // The index of the first remaining weight feeding [destination node], plus the total
+   int columns[];             // The source node of [remaining weight]
+
+   /*
+    * The SparseLayer constructor creates a SparseLayer with no remaining weights between the given numbers of source
+    * and destination nodes, to be filled in by readWeights.
+    */
+   public SparseLayer(int sourceNodes, int destinationNodes)
+   {
+      sources = sourceNodes;
+      rowStart = new int[destinationNodes + 1];
+      columns = new int[0];
+
+      return;
+   }
+
+   /*
+    * The SparseLayer constructor creates a SparseLayer keeping the weights of a dense weight layer, laid out as in
+    * Network, whose magnitude is at least a given threshold.
+    */
+   public SparseLayer(double dense[], int sourceNodes, int destinationNodes, double threshold)
+   {
+      int kept = 0;
+
+      sources = sourceNodes;
+      for (int k = 0; k < dense.length; k++)                     // Count the remaining weights
+      {
+         if (Math.abs(dense[k]) >= threshold)
+            kept++;
+      }
+
+      rowStart = new int[destinationNodes + 1];
+      columns = new int[kept];
+      kept = 0;
+      for (int j = 0; j < destinationNodes; j++)                 // List each row's remaining source nodes
+      {
+         rowStart[j] = kept;
+         for (int i = 0; i < sources; i++)
+         {
+            if (Math.abs(dense[j * sources + i]) >= threshold)
+               columns[kept++] = i;
+         }
+      }
+      rowStart[destinationNodes] = kept;
+
+      return;
+   }  // public SparseLayer(double dense[], int sourceNodes, int destinationNodes, double threshold)
+
+   /*
+    * The SparseLayer constructor creates a SparseLayer keeping the remaining weights of another SparseLayer, given as
+    * an array of its remaining weights, whose magnitude is at least a given threshold. Weights already pruned stay
+    * pruned, even when the threshold is 0.
+    */
+   public SparseLayer(SparseLayer layer, double values[], double threshold)
+   {
+      int rows = layer.rowStart.length - 1;
+      int kept = 0;
+
+      sources = layer.sources;
+      for (int k = 0; k < values.length; k++)                    // Count the remaining weights
+      {
+         if (Math.abs(values[k]) >= threshold)
+            kept++;
+      }
+
+      rowStart = new int[rows + 1];
+      columns = new int[kept];
+      kept = 0;
+      for (int j = 0; j < rows; j++)                             // List each row's remaining source nodes
+      {
+         rowStart[j] = kept;
+         for (int k = layer.rowStart[j]; k < layer.rowStart[j + 1]; k++)
+         {
+            if (Math.abs(values[k]) >= threshold)
+               columns[kept++] = layer.columns[k];
+         }
+      }
+      rowStart[rows] = kept;
+
+      return;
+   }  // public SparseLayer(SparseLayer layer, double values[], double threshold)
+
+   /*
+    * gather returns the remaining weights of a given dense weight layer, in row order.
+    */
+   public double[] gather(double dense[])
+   {
+      double values[] = new double[columns.length];
+
+      for (int j = 0; j < rowStart.length - 1; j++)
+      {
+         for (int k = rowStart[j]; k < rowStart[j + 1]; k++)
+            values[k] = dense[j * sources + columns[k]];
+      }
+
+      return values;
+   }
+
+   /*
+    * toDense returns the dense weight layer, laid out as in Network, of a given array of remaining weights. Pruned
+    * weights are 0.
+    */
+   public double[] toDense(double values[])
+   {
+      double dense[] = new double[(rowStart.length - 1) * sources];
+
+      for (int j = 0; j < rowStart.length - 1; j++)
+      {
+         for (int k = rowStart[j]; k < rowStart[j + 1]; k++)
+            dense[j * sources + columns[k]] = values[k];
+      }
+
+      return dense;
+   }
+
+   /*
+    * dot returns the dot product of the remaining weights of a given row and their source activations.
+    */
+   public double dot(double weights[], int row, double activations[])
+   {
+      double dotProduct = 0.0;
+
+      for (int k = rowStart[row]; k < rowStart[row + 1]; k++)
+         dotProduct += activations[columns[k]] * weights[k];
+
+      return dotProduct;
+   }
+
+   /*
+    * backprop adds psi times each remaining weight of a given row to its source node's omega, then applies steepest
+    * descent to the weight.
+    */
+   public void backprop(double omega[], double weights[], int row, double activations[], double psi, double lambda)
+   {
+      for (int k = rowStart[row]; k < rowStart[row + 1]; k++)
+      {
+         omega[columns[k]] += psi * weights[k];                      // Set omega for next round
+         weights[k] -= lambda * activations[columns[k]] * psi;       // Update weights
+      }
+
+      return;
+   }
+
+   /*
+    * update applies steepest descent to the remaining weights of a given row.
+    */
+   public void update(double weights[], int row, double activations[], double psi, double lambda)
+   {
+      for (int k = rowStart[row]; k < rowStart[row + 1]; k++)
+         weights[k] -= lambda * activations[columns[k]] * psi;       // Update weights
+
+      return;
+   }
+
+   /*
+    * gradient adds psi times each remaining weight of a given row to its source node's omega, if given, and adds the
+    * weight's gradient to its entry of gradient.
+    */
+   public void gradient(double omega[], double weights[], double gradient[], int row, double activations[], double psi)
+   {
+      for (int k = rowStart[row]; k < rowStart[row + 1]; k++)
+      {
+         if (omega != null)
+            omega[columns[k]] += psi * weights[k];                   // Set omega for next round
+         gradient[k] += activations[columns[k]] * psi;               // Accumulate the gradient
+      }
+
+      return;
+   }
+
+   /*
+    * connections returns the number of remaining weights, each of which is one multiply-add.
+    */
+   public long connections()
+   {
+      return columns.length;
+   }
+
+   /*
+    * sharesWeights returns false, as every remaining weight belongs to a single row.
+    */
+   public boolean sharesWeights()
+   {
+      return false;
+   }
+
+   /*
+    * options returns the keyword line marking weight layer m as pruned.
+    */
+   public String options(int m)
+   {
+      return String.format("sparse %d", m);
+   }
+
+   /*
+    * writeWeights writes a line for each row giving its number of remaining weights followed by the source node and
+    * value of each, in increasing source node order.
+    */
+   public void writeWeights(BufferedWriter writer, double weights[]) throws IOException
+   {
+      for (int j = 0; j < rowStart.length - 1; j++)
+      {
+         writer.append(String.format("%d ", rowStart[j + 1] - rowStart[j]));
+         for (int k = rowStart[j]; k < rowStart[j + 1]; k++)
+            writer.append(String.format("%d %.15f ", columns[k], weights[k]));
+         writer.append("\n");
+      }
+
+      return;
+   }
+
+   /*
+    * readWeights reads the rows written by writeWeights, filling in the layer's rows, and returns the remaining
+    * weights. The arrays grow as each row's count is read, doubling when they fill, so reading a very sparse layer
+    * never needs room for every dense weight.
+    */
+   public double[] readWeights(Scanner scanner)
+   {
+      int rows = rowStart.length - 1;
+      int kept = 0;
+      double values[] = new double[rows];
+
+      columns = new int[rows];                                         // Grown as rows are read, trimmed at the end
+      for (int j = 0; j < rows; j++)
+      {
+         int count = scanner.nextInt();
+         rowStart[j] = kept;
+         if (kept + count > columns.length)
+         {
+            int size = Math.max(kept + count, 2 * columns.length);
+            columns = Arrays.copyOf(columns, size);
+            values = Arrays.copyOf(values, size);
+         }
+         for (int k = 0; k < count; k++, kept++)
+         {
+            columns[kept] = scanner.nextInt();
+            values[kept] = scanner.nextDouble();
+         }
+      }
+      rowStart[rows] = kept;
+      columns = Arrays.copyOf(columns, kept);
+
+      return Arrays.copyOf(values, kept);
+   }  // public double[] readWeights(Scanner scanner)
+}  // public class SparseLayer
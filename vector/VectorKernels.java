@@ -0,0 +1,196 @@
+/*
+ * Authored by Bennett Liu on October 17th, 2026
+ * 
+ * VectorKernels.java implements the Network inner loops with the incubating Vector API, using the widest double 
+ * vectors the processor supports. It lives in its own folder so that the rest of the project still compiles with a 
+ * plain javac *.java. To enable it, compile it into the project folder and launch with the module added:
+ * 
+ *    javac --add-modules jdk.incubator.vector -d . vector/VectorKernels.java
+ *    java --add-modules jdk.incubator.vector Main
+ * 
+ * backprop, update and gradient perform the same multiplications in the same order as ScalarKernels, so they give 
+ * identical weights, omegas and gradients. dot sums in one lane per vector element, so it can differ from 
+ * ScalarKernels by rounding.
+ */
+
+import jdk.incubator.vector.*;
+
+public class VectorKernels implements Kernels
+{
+   static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+   static final VectorSpecies<Float> FLOAT_SPECIES = FloatVector.SPECIES_PREFERRED;   // Twice the lanes of SPECIES
+
+   /*
+    * dot returns the dot product of activations and a run of weights, using one partial sum per vector lane.
+    */
+   public double dot(double activations[], double weights[], int offset, int length)
+   {
+      DoubleVector sums = DoubleVector.zero(SPECIES);
+      int bound = SPECIES.loopBound(length);
+      int j = 0;
+
+      for (; j < bound; j += SPECIES.length())
+      {
+         DoubleVector a = DoubleVector.fromArray(SPECIES, activations, j);
+         DoubleVector w = DoubleVector.fromArray(SPECIES, weights, offset + j);
+         sums = a.mul(w).add(sums);
+      }
+
+      double dotProduct = sums.reduceLanes(VectorOperators.ADD);
+      for (; j < length; j++)                                        // Remaining elements past the last full vector
+         dotProduct += activations[j] * weights[offset + j];
+
+      return dotProduct;
+   }  // public double dot(double activations[], double weights[], int offset, int length)
+
+   /*
+    * backprop accumulates omega from a run of weights and then applies steepest descent to them.
+    */
+   public void backprop(double omega[], double weights[], int offset, double activations[], double psi, double lambda, int length)
+   {
+      int bound = SPECIES.loopBound(length);
+      int j = 0;
+
+      for (; j < bound; j += SPECIES.length())
+      {
+         DoubleVector w = DoubleVector.fromArray(SPECIES, weights, offset + j);
+         DoubleVector o = DoubleVector.fromArray(SPECIES, omega, j);
+         DoubleVector a = DoubleVector.fromArray(SPECIES, activations, j);
+         o.add(w.mul(psi)).intoArray(omega, j);                                  // Set omega for next round
+         w.sub(a.mul(lambda).mul(psi)).intoArray(weights, offset + j);           // Update weights
+      }
+
+      for (; j < length; j++)
+      {
+         omega[j] += psi * weights[offset + j];
+         weights[offset + j] -= lambda * activations[j] * psi;
+      }
+
+      return;
+   }  // public void backprop(double omega[], double weights[], int offset, double activations[], double psi, double lambda, int length)
+
+   /*
+    * update applies steepest descent to a run of weights.
+    */
+   public void update(double weights[], int offset, double activations[], double psi, double lambda, int length)
+   {
+      int bound = SPECIES.loopBound(length);
+      int j = 0;
+
+      for (; j < bound; j += SPECIES.length())
+      {
+         DoubleVector w = DoubleVector.fromArray(SPECIES, weights, offset + j);
+         DoubleVector a = DoubleVector.fromArray(SPECIES, activations, j);
+         w.sub(a.mul(lambda).mul(psi)).intoArray(weights, offset + j);           // Update weights
+      }
+
+      for (; j < length; j++)
+         weights[offset + j] -= lambda * activations[j] * psi;
+
+      return;
+   }  // public void update(double weights[], int offset, double activations[], double psi, double lambda, int length)
+
+   /*
+    * gradient accumulates omega, if given, and the gradient of a run of weights.
+    */
+   public void gradient(double omega[], double weights[], double gradient[], int offset, double activations[], double psi, int length)
+   {
+      int bound = SPECIES.loopBound(length);
+      int j;
+
+      if (omega != null)
+      {
+         for (j = 0; j < bound; j += SPECIES.length())
+         {
+            DoubleVector w = DoubleVector.fromArray(SPECIES, weights, offset + j);
+            DoubleVector o = DoubleVector.fromArray(SPECIES, omega, j);
+            o.add(w.mul(psi)).intoArray(omega, j);                               // Set omega for next round
+         }
+
+         for (; j < length; j++)
+            omega[j] += psi * weights[offset + j];
+      }
+
+      for (j = 0; j < bound; j += SPECIES.length())
+      {
+         DoubleVector g = DoubleVector.fromArray(SPECIES, gradient, offset + j);
+         DoubleVector a = DoubleVector.fromArray(SPECIES, activations, j);
+         g.add(a.mul(psi)).intoArray(gradient, offset + j);                     // Accumulate the gradient
+      }
+
+      for (; j < length; j++)
+         gradient[offset + j] += activations[j] * psi;
+
+      return;
+   }  // public void gradient(double omega[], double weights[], double gradient[], int offset, double activations[], double psi, int length)
+
+   /*
+    * dot returns the float dot product of activations and a run of weights, using one partial sum per vector lane.
+    */
+   public float dot(float activations[], float weights[], int offset, int length)
+   {
+      FloatVector sums = FloatVector.zero(FLOAT_SPECIES);
+      int bound = FLOAT_SPECIES.loopBound(length);
+      int j = 0;
+
+      for (; j < bound; j += FLOAT_SPECIES.length())
+      {
+         FloatVector a = FloatVector.fromArray(FLOAT_SPECIES, activations, j);
+         FloatVector w = FloatVector.fromArray(FLOAT_SPECIES, weights, offset + j);
+         sums = a.mul(w).add(sums);
+      }
+
+      float dotProduct = sums.reduceLanes(VectorOperators.ADD);
+      for (; j < length; j++)                                        // Remaining elements past the last full vector
+         dotProduct += activations[j] * weights[offset + j];
+
+      return dotProduct;
+   }  // public float dot(float activations[], float weights[], int offset, int length)
+
+   /*
+    * backprop accumulates float omega from a run of weights and then applies steepest descent to them.
+    */
+   public void backprop(float omega[], float weights[], int offset, float activations[], float psi, float lambda, int length)
+   {
+      int bound = FLOAT_SPECIES.loopBound(length);
+      int j = 0;
+
+      for (; j < bound; j += FLOAT_SPECIES.length())
+      {
+         FloatVector w = FloatVector.fromArray(FLOAT_SPECIES, weights, offset + j);
+         FloatVector o = FloatVector.fromArray(FLOAT_SPECIES, omega, j);
+         FloatVector a = FloatVector.fromArray(FLOAT_SPECIES, activations, j);
+         o.add(w.mul(psi)).intoArray(omega, j);                                  // Set omega for next round
+         w.sub(a.mul(lambda).mul(psi)).intoArray(weights, offset + j);           // Update weights
+      }
+
+      for (; j < length; j++)
+      {
+         omega[j] += psi * weights[offset + j];
+         weights[offset + j] -= lambda * activations[j] * psi;
+      }
+
+      return;
+   }  // public void backprop(float omega[], float weights[], int offset, float activations[], float psi, float lambda, int length)
+
+   /*
+    * update applies steepest descent to a run of float weights.
+    */
+   public void update(float weights[], int offset, float activations[], float psi, float lambda, int length)
+   {
+      int bound = FLOAT_SPECIES.loopBound(length);
+      int j = 0;
+
+      for (; j < bound; j += FLOAT_SPECIES.length())
+      {
+         FloatVector w = FloatVector.fromArray(FLOAT_SPECIES, weights, offset + j);
+         FloatVector a = FloatVector.fromArray(FLOAT_SPECIES, activations, j);
+         w.sub(a.mul(lambda).mul(psi)).intoArray(weights, offset + j);           // Update weights
+      }
+
+      for (; j < length; j++)
+         weights[offset + j] -= lambda * activations[j] * psi;
+
+      return;
+   }  // public void update(float weights[], int offset, float activations[], float psi, float lambda, int length)
+}  // public class VectorKernels